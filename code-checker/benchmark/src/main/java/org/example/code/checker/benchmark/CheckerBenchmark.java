@@ -0,0 +1,112 @@
+package org.example.code.checker.benchmark;
+
+import org.example.code.checker.checker.Checker;
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.task.rule.ContentNumberRule;
+import org.example.code.checker.checker.markdown.task.structure.StructureChecker;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentListChecker;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeListChecker;
+import org.example.code.checker.checker.markdown.task.structure.example.ExampleChecker;
+import org.example.code.checker.checker.markdown.task.structure.front.matter.FrontMatterChecker;
+import org.example.code.checker.checker.markdown.task.structure.title.TitleChecker;
+import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link Checker} in isolation on a pre-parsed document.
+ * <p>
+ * {@code ContentNumberRule} gets the title, argument and attribute results
+ * produced by running the upstream checkers once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckerBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    @Param({
+            "FrontMatterChecker",
+            "TitleChecker",
+            "StructureChecker",
+            "ExampleChecker",
+            "ArgumentListChecker",
+            "AttributeListChecker",
+            "ContentNumberRule"
+    })
+    public String checker;
+
+    private Checker target;
+
+    private Map<String, TaskData<?>> input;
+
+    @Setup
+    public void setUp() {
+        TreeNode<MdAstNode> document = MdAstGenerator.generate(ProviderDocs.generate(size), "benchmark.md");
+        input = new HashMap<>();
+        input.put("originalDocument", new TaskData<>("originalDocument", document));
+        input.put("fileId", new TaskData<>("fileId", "benchmark.md"));
+
+        for (Checker upstream : List.of(new TitleChecker(), new ArgumentListChecker(), new AttributeListChecker())) {
+            List<TaskData<?>> output = upstream.execute(input).getOutput();
+            if (output != null) {
+                for (TaskData<?> data : output) {
+                    input.put(data.getName(), data);
+                }
+            }
+        }
+
+        target = createChecker(checker);
+    }
+
+    private static Checker createChecker(String name) {
+        switch (name) {
+            case "FrontMatterChecker":
+                return new FrontMatterChecker();
+            case "TitleChecker":
+                return new TitleChecker();
+            case "StructureChecker":
+                return new StructureChecker();
+            case "ExampleChecker":
+                return new ExampleChecker();
+            case "ArgumentListChecker":
+                return new ArgumentListChecker();
+            case "AttributeListChecker":
+                return new AttributeListChecker();
+            case "ContentNumberRule":
+                return new ContentNumberRule();
+            default:
+                throw new IllegalArgumentException("Unknown checker: " + name);
+        }
+    }
+
+    @Benchmark
+    public void task(Blackhole blackhole) {
+        TaskContext context = target.execute(input);
+        blackhole.consume(context.getOutput());
+        blackhole.consume(Checker.getErrorList(context));
+    }
+}
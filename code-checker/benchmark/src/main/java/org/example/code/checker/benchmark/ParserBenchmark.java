@@ -0,0 +1,45 @@
+package org.example.code.checker.benchmark;
+
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.utils.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MdAstGenerator#generate(String, String)} on generated pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    private String mdContent;
+
+    @Setup
+    public void setUp() {
+        mdContent = ProviderDocs.generate(size);
+    }
+
+    @Benchmark
+    public TreeNode<MdAstNode> generate() {
+        return MdAstGenerator.generate(mdContent, "benchmark.md");
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.code.checker.benchmark;
+
+import org.example.code.checker.checker.markdown.corpus.FileResult;
+import org.example.code.checker.checker.markdown.corpus.MarkdownPipeline;
+import org.example.flow.engine.analyzer.FlowEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full {@link FlowEngine} pipeline for one file: reading,
+ * parsing and running every checker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private Path file;
+
+    private FlowEngine engine;
+
+    private MarkdownPipeline pipeline;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("code-checker-benchmark-", ".md");
+        Files.write(file, ProviderDocs.generate(size).getBytes(StandardCharsets.UTF_8));
+        engine = new FlowEngine(parallelism);
+        pipeline = new MarkdownPipeline(engine);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public FileResult run() {
+        return pipeline.run(file.toString());
+    }
+}
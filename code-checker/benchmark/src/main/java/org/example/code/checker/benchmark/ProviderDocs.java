@@ -0,0 +1,84 @@
+package org.example.code.checker.benchmark;
+
+/**
+ * Generates synthetic Terraform provider pages of different sizes.
+ * <p>
+ * The pages follow the layout the checkers expect (front matter, title,
+ * example usage, argument and attribute references) and contain numbers,
+ * inline code and long lines so that every rule has work to do.
+ */
+public final class ProviderDocs {
+
+    private ProviderDocs() {}
+
+    /**
+     * Generates a page for one of the named sizes: {@code small},
+     * {@code typical} or {@code huge}.
+     */
+    public static String generate(String size) {
+        switch (size) {
+            case "small":
+                return generate(3, 3, 1);
+            case "typical":
+                return generate(25, 15, 2);
+            case "huge":
+                return generate(1500, 2500, 6);
+            default:
+                throw new IllegalArgumentException("Unknown page size: " + size);
+        }
+    }
+
+    /**
+     * Generates a page with the given number of arguments, attributes and examples.
+     */
+    public static String generate(int arguments, int attributes, int examples) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("---\n")
+                .append("subcategory: \"Elastic Cloud Server (ECS)\"\n")
+                .append("layout: \"huaweicloud\"\n")
+                .append("page_title: \"HuaweiCloud: huaweicloud_compute_instance\"\n")
+                .append("description: |-\n")
+                .append("  Use this resource to manage an ECS instance within HuaweiCloud.\n")
+                .append("---\n\n");
+
+        sb.append("# huaweicloud_compute_instance\n\n")
+                .append("Use this resource to manage an ECS instance within HuaweiCloud.\n\n");
+
+        sb.append("## Example Usage\n\n");
+        for (int i = 0; i < examples; i++) {
+            if (examples > 1) {
+                sb.append("### Example ").append(i + 1).append("\n\n");
+            }
+            sb.append("```hcl\n")
+                    .append("resource \"huaweicloud_compute_instance\" \"test_").append(i).append("\" {\n")
+                    .append("  name              = \"instance-").append(i).append("\"\n")
+                    .append("  flavor_id         = \"s6.small.1\"\n")
+                    .append("  security_groups   = [\"default\"]\n")
+                    .append("  availability_zone = \"cn-north-4a\"\n")
+                    .append("}\n")
+                    .append("```\n\n");
+        }
+
+        sb.append("## Argument Reference\n\n")
+                .append("The following arguments are supported:\n\n");
+        for (int i = 0; i < arguments; i++) {
+            sb.append("* `argument_").append(i).append("` - (Optional, String, ForceNew) Specifies the value ")
+                    .append(i).append(" of the instance, the valid length is limited from `1` to ")
+                    .append(1000 + i).append(".  \n")
+                    .append("  Changing this parameter will create a new resource.\n\n");
+        }
+
+        sb.append("## Attribute Reference\n\n")
+                .append("In addition to all arguments above, the following attributes are exported:\n\n");
+        for (int i = 0; i < attributes; i++) {
+            sb.append("* `attribute_").append(i).append("` - (String) The attribute ").append(i)
+                    .append(" created at 2024-01-01T00:00:00Z, with a description long enough to exceed the")
+                    .append(" maximum line length of the structure checker.\n\n");
+        }
+
+        sb.append("## Import\n\n")
+                .append("The instance can be imported using the `id`, e.g.\n\n")
+                .append("```bash\n$ terraform import huaweicloud_compute_instance.test <id>\n```\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.code.checker.benchmark;
+
+import org.example.code.checker.checker.common.CheckContext;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.CheckRule;
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
+import org.example.code.checker.checker.markdown.task.rule.LineFormattingRule;
+import org.example.code.checker.checker.markdown.task.rule.NumberBacktickRule;
+import org.example.code.checker.checker.markdown.task.rule.NumberThousandSeparatorRule;
+import org.example.code.checker.checker.markdown.task.rule.NumberToken;
+import org.example.code.checker.checker.markdown.task.rule.NumberTokenizer;
+import org.example.code.checker.checker.markdown.task.rule.SectionOrderRule;
+import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link CheckRule} in isolation on a pre-parsed document.
+ * <p>
+ * The number rules do their work per text field, called by
+ * {@code ContentNumberRule}; they are measured through {@code checkTokens}
+ * on the list item texts of the document, tokenized in advance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    @Param({"SectionOrderRule", "LineFormattingRule", "NumberBacktickRule", "NumberThousandSeparatorRule"})
+    public String rule;
+
+    private CheckRule checkRule;
+
+    /**
+     * {@code checkTokens} of a number rule, null for document rules.
+     */
+    private TokenCheck tokenCheck;
+
+    private List<String> fieldNames;
+
+    private List<List<NumberToken>> fieldTokens;
+
+    private CheckContext context;
+
+    @Setup
+    public void setUp() {
+        checkRule = createRule(rule);
+        if (checkRule instanceof NumberBacktickRule) {
+            tokenCheck = ((NumberBacktickRule) checkRule)::checkTokens;
+        } else if (checkRule instanceof NumberThousandSeparatorRule) {
+            tokenCheck = ((NumberThousandSeparatorRule) checkRule)::checkTokens;
+        }
+
+        TreeNode<MdAstNode> document = MdAstGenerator.generate(ProviderDocs.generate(size), "benchmark.md");
+        Map<String, TaskData<?>> input = Map.of(
+                "originalDocument", new TaskData<>("originalDocument", document),
+                "fileId", new TaskData<>("fileId", "benchmark.md"));
+        context = new CheckContext(document, "benchmark.md", input,
+                tokenCheck != null ? "ContentNumberRule" : "StructureChecker");
+
+        fieldNames = new ArrayList<>();
+        fieldTokens = new ArrayList<>();
+        if (tokenCheck != null) {
+            for (TreeNode<MdAstNode> item : DocumentIndex.of(document).nodesOfType(MdNodeType.LIST_ITEM)) {
+                fieldNames.add("item[" + fieldNames.size() + "].description");
+                fieldTokens.add(NumberTokenizer.tokenize(item.getData().getRawStr()));
+            }
+        }
+    }
+
+    private static CheckRule createRule(String name) {
+        switch (name) {
+            case "SectionOrderRule":
+                return new SectionOrderRule();
+            case "LineFormattingRule":
+                return new LineFormattingRule();
+            case "NumberBacktickRule":
+                return new NumberBacktickRule();
+            case "NumberThousandSeparatorRule":
+                return new NumberThousandSeparatorRule();
+            default:
+                throw new IllegalArgumentException("Unknown rule: " + name);
+        }
+    }
+
+    @Benchmark
+    public List<CheckError> check() {
+        if (tokenCheck == null) {
+            return checkRule.check(context);
+        }
+        List<CheckError> errors = new ArrayList<>();
+        for (int i = 0; i < fieldTokens.size(); i++) {
+            errors.addAll(tokenCheck.check(fieldNames.get(i), fieldTokens.get(i), context));
+        }
+        return errors;
+    }
+
+    @FunctionalInterface
+    private interface TokenCheck {
+        List<CheckError> check(String fieldName, List<NumberToken> tokens, CheckContext context);
+    }
+}
@@ -3,8 +3,11 @@ package org.example.code.checker.checker;
 import org.example.code.checker.checker.common.CheckContext;
 import org.example.code.checker.checker.common.CheckError;
 import org.example.code.checker.checker.common.CheckRule;
+import org.example.code.checker.checker.common.NodeRule;
+import org.example.code.checker.checker.common.NodeRuleDispatcher;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 import java.util.ArrayList;
@@ -14,28 +17,62 @@ import java.util.Map;
 /**
  * Rule-based checker base class.
  * Uses Template Method pattern to define the check flow.
+ * <p>
+ * All {@link NodeRule}s of the checker are run together in one pass over
+ * the indexed nodes they subscribe to; other rules are run one by one. Errors are reported in the
+ * order of the rules either way.
  */
 public abstract class RuleBasedChecker extends Checker {
 
+    /**
+     * Dispatcher of the node rules, created on first use since subclasses
+     * set up their rule list after this constructor has run. The rule list
+     * is fixed, so one dispatcher serves every document.
+     */
+    private volatile NodeRuleDispatcher nodeRuleDispatcher;
+
     /**
      * Template method: defines the check flow.
      */
     @Override
-    public final List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public final List<TaskData<?>> task(TaskContext taskContext) {
         // 1. Extract context
-        CheckContext context = extractContext(input);
+        CheckContext context = extractContext(taskContext.getInput());
 
         // 2. Get rule list
         List<CheckRule> rules = getRules();
 
-        // 3. Execute all rules
+        // 3. Execute all rules, node rules in one pass
+        List<List<CheckError>> nodeRuleErrors = nodeRuleDispatcher().check(context);
+
         List<CheckError> errors = new ArrayList<>();
+        int nextNodeRule = 0;
         for (CheckRule rule : rules) {
-            errors.addAll(rule.check(context));
+            if (rule instanceof NodeRule) {
+                errors.addAll(nodeRuleErrors.get(nextNodeRule++));
+            } else {
+                errors.addAll(rule.check(context));
+            }
         }
 
         // 4. Unified error handling
-        return handleErrors(errors);
+        return handleErrors(taskContext, errors);
+    }
+
+    private NodeRuleDispatcher nodeRuleDispatcher() {
+        NodeRuleDispatcher dispatcher = nodeRuleDispatcher;
+        if (dispatcher == null) {
+            List<NodeRule> nodeRules = new ArrayList<>();
+            for (CheckRule rule : getRules()) {
+                if (rule instanceof NodeRule) {
+                    nodeRules.add((NodeRule) rule);
+                }
+            }
+            // Threads racing here build equal dispatchers, any of them may be kept
+            dispatcher = new NodeRuleDispatcher(nodeRules);
+            nodeRuleDispatcher = dispatcher;
+        }
+        return dispatcher;
     }
 
     /**
@@ -59,10 +96,10 @@ public abstract class RuleBasedChecker extends Checker {
     /**
      * Unified error handling.
      */
-    protected List<TaskData<?>> handleErrors(List<CheckError> errors) {
+    protected List<TaskData<?>> handleErrors(TaskContext taskContext, List<CheckError> errors) {
         if (!errors.isEmpty()) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(taskContext, errors);
+            taskContext.setNeedStop(true);
             return null;
         }
         return buildSuccessResult();
@@ -75,6 +112,19 @@ public abstract class RuleBasedChecker extends Checker {
         return new ArrayList<>();
     }
 
+    /**
+     * Includes every configured rule and its version.
+     */
+    @Override
+    public String getFingerprint() {
+        StringBuilder sb = new StringBuilder(super.getFingerprint());
+        for (CheckRule rule : getRules()) {
+            sb.append('[').append(rule.getClass().getName())
+                    .append('@').append(rule.getVersion()).append(']');
+        }
+        return sb.toString();
+    }
+
     /**
      * Gets checker name (for error message prefix).
      */
@@ -1,5 +1,6 @@
 package org.example.code.checker.checker.common;
 
+import org.example.code.checker.checker.markdown.parser.ast.LineTable;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.utils.TreeNode;
 import org.example.flow.engine.node.TaskData;
@@ -27,6 +28,13 @@ public class CheckContext {
         return document;
     }
 
+    /**
+     * Gets the line table of the document, shared by all rules checking it.
+     */
+    public LineTable getLineTable() {
+        return LineTable.of(document);
+    }
+
     public String getFileId() {
         return fileId;
     }
@@ -1,5 +1,7 @@
 package org.example.code.checker.checker.common;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
 
 /**
@@ -7,6 +9,10 @@ import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
  * <p>
  * This type is intended to be wrapped inside {@code TaskData<CheckError>}
  * when a task detects a structural or semantic problem in the document.
+ * <p>
+ * The location and origin of the error are kept as fields. The full message
+ * ({@link #getMessage()}) is only formatted when it is first asked for, so
+ * consumers that count or filter errors do not pay for it.
  */
 public final class CheckError {
 
@@ -20,25 +26,144 @@ public final class CheckError {
     }
 
     /**
-     * Human readable error message.
+     * Id of the rule that reported this error, e.g. "TitleChecker.MissingTitle".
+     */
+    private final String ruleId;
+
+    /**
+     * Description of the problem, or its format if {@link #descriptionArgs} is set.
      */
-    private final String message;
+    private final String descriptionFormat;
+
+    private final Object[] descriptionArgs;
+
+    private final String fileId;
+
+    private final SourceRange sourceRange;
+
+    private final String nodeId;
+
+    private final String nodeType;
 
     /**
      * Severity of this error.
      */
     private final Severity severity;
 
+    /**
+     * Formatted description and message, filled on first use.
+     */
+    private String description;
+    private String message;
+
+    /**
+     * Creates an error with a preformatted message and no location.
+     */
+    public CheckError(String message, Severity severity) {
+        this(null, message, (Object[]) null, null, null, null, null, severity);
+    }
+
+    @JsonCreator
     public CheckError(
-        String message,
-        Severity severity
+        @JsonProperty("ruleId") String ruleId,
+        @JsonProperty("description") String description,
+        @JsonProperty("message") String message,
+        @JsonProperty("fileId") String fileId,
+        @JsonProperty("sourceRange") SourceRange sourceRange,
+        @JsonProperty("nodeId") String nodeId,
+        @JsonProperty("nodeType") String nodeType,
+        @JsonProperty("severity") Severity severity
     ) {
-        this.message = message;
+        // Errors stored before the fields existed only have a message
+        this(ruleId, description != null ? description : message, (Object[]) null,
+                fileId, sourceRange, nodeId, nodeType, severity);
+    }
+
+    private CheckError(String ruleId, String descriptionFormat, Object[] descriptionArgs, String fileId,
+                       SourceRange sourceRange, String nodeId, String nodeType, Severity severity) {
+        this.ruleId = ruleId;
+        this.descriptionFormat = descriptionFormat;
+        this.descriptionArgs = descriptionArgs;
+        this.fileId = fileId;
+        this.sourceRange = sourceRange;
+        this.nodeId = nodeId;
+        this.nodeType = nodeType;
         this.severity = severity == null ? Severity.ERROR : severity;
     }
 
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Gets the description of the problem, without rule id and location.
+     */
+    public String getDescription() {
+        String result = description;
+        if (result == null && descriptionFormat != null) {
+            result = descriptionArgs == null
+                    ? descriptionFormat
+                    : String.format(descriptionFormat, descriptionArgs);
+            description = result;
+        }
+        return result;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public SourceRange getSourceRange() {
+        return sourceRange;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getNodeType() {
+        return nodeType;
+    }
+
+    /**
+     * Gets the human readable message: rule id, description, file, location
+     * and node, as far as they are known.
+     */
     public String getMessage() {
-        return message;
+        String result = message;
+        if (result == null) {
+            result = render();
+            message = result;
+        }
+        return result;
+    }
+
+    private String render() {
+        StringBuilder sb = new StringBuilder();
+        if (ruleId != null && !ruleId.isEmpty()) {
+            sb.append('[').append(ruleId).append("] ");
+        }
+        String text = getDescription();
+        if (text != null) {
+            sb.append(text);
+        }
+        if (fileId != null && !fileId.isEmpty()) {
+            sb.append(" (File: ").append(fileId).append(')');
+        }
+        if (sourceRange != null) {
+            sb.append(" [Line: ").append(sourceRange.getLine())
+                    .append(", Column: ").append(sourceRange.getColumn()).append(']');
+        }
+        boolean hasNodeId = nodeId != null && !nodeId.isEmpty();
+        boolean hasNodeType = nodeType != null && !nodeType.isEmpty();
+        if (hasNodeId && hasNodeType) {
+            sb.append(" (NodeId: ").append(nodeId).append(", NodeType: ").append(nodeType).append(')');
+        } else if (hasNodeId) {
+            sb.append(" (NodeId: ").append(nodeId).append(')');
+        } else if (hasNodeType) {
+            sb.append(" (NodeType: ").append(nodeType).append(')');
+        }
+        return sb.toString();
     }
 
     public Severity getSeverity() {
@@ -49,11 +174,57 @@ public final class CheckError {
      * Builder for {@link CheckError} to simplify creation of error objects.
      */
     public static class Builder {
+        private String ruleId;
         private String message;
+        private Object[] messageArgs;
+        private String fileId;
+        private SourceRange sourceRange;
+        private String nodeId;
+        private String nodeType;
         private Severity severity = Severity.ERROR; // 默认严重级别为 ERROR
 
+        public Builder ruleId(String ruleId) {
+            this.ruleId = ruleId;
+            return this;
+        }
+
+        /**
+         * Sets the description of the problem.
+         */
         public Builder message(String message) {
             this.message = message;
+            this.messageArgs = null;
+            return this;
+        }
+
+        /**
+         * Sets the description of the problem as a {@link String#format}
+         * format, formatted only when the message is first used. The
+         * arguments must not change afterwards.
+         */
+        public Builder message(String format, Object... args) {
+            this.message = format;
+            this.messageArgs = args;
+            return this;
+        }
+
+        public Builder fileId(String fileId) {
+            this.fileId = fileId;
+            return this;
+        }
+
+        public Builder sourceRange(SourceRange sourceRange) {
+            this.sourceRange = sourceRange;
+            return this;
+        }
+
+        public Builder nodeId(String nodeId) {
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        public Builder nodeType(String nodeType) {
+            this.nodeType = nodeType;
             return this;
         }
 
@@ -64,7 +235,13 @@ public final class CheckError {
 
         public CheckError build() {
             return new CheckError(
+                    ruleId,
                     message,
+                    messageArgs,
+                    fileId,
+                    sourceRange,
+                    nodeId,
+                    nodeType,
                     severity);
         }
     }
@@ -74,5 +251,3 @@ public final class CheckError {
         return new Builder();
     }
 }
-
-
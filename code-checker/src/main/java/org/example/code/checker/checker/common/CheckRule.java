@@ -19,5 +19,13 @@ public interface CheckRule {
      * Rule name for error messages.
      */
     String getRuleName();
+
+    /**
+     * Version of the rule logic. Bump it whenever the rule reports different
+     * errors for the same document, so that cached results are invalidated.
+     */
+    default String getVersion() {
+        return "1";
+    }
 }
 
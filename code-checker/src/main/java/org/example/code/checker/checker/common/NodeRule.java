@@ -0,0 +1,63 @@
+package org.example.code.checker.checker.common;
+
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Check rule that looks at nodes of some types instead of walking the
+ * document itself.
+ * <p>
+ * {@link NodeRuleDispatcher} takes the nodes of the subscribed types from
+ * the document index and hands each one to every rule subscribed to its
+ * type, so node rules never walk the tree. {@code RuleBasedChecker} runs its
+ * node rules this way.
+ * <p>
+ * A rule keeps no per-document state: everything it collects while walking
+ * a document lives in the {@link Visitor} created for that document.
+ */
+public interface NodeRule extends CheckRule {
+
+    /**
+     * Gets the node types this rule visits.
+     */
+    Set<MdNodeType> getNodeTypes();
+
+    /**
+     * Creates the visitor that checks one document.
+     */
+    Visitor newVisitor(CheckContext context);
+
+    /**
+     * Checks the document with this rule alone.
+     */
+    @Override
+    default List<CheckError> check(CheckContext context) {
+        return new NodeRuleDispatcher(List.of(this)).check(context).get(0);
+    }
+
+    /**
+     * Checks the nodes of one document.
+     */
+    interface Visitor {
+
+        /**
+         * Called for each node of a subscribed type, in document order
+         * (depth-first, parents before children).
+         *
+         * @param errors errors of this rule, to add to
+         */
+        void visit(TreeNode<MdAstNode> node, List<CheckError> errors);
+
+        /**
+         * Called after the last node of the document.
+         *
+         * @param errors errors of this rule, to add to
+         */
+        default void finish(List<CheckError> errors) {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.code.checker.checker.common;
+
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs a set of {@link NodeRule}s over the nodes of a document they subscribe to.
+ * <p>
+ * The rules subscribed to each node type are resolved when the dispatcher
+ * is created. The nodes of the subscribed types are taken from the
+ * document's {@link DocumentIndex} in document order, so nodes of other
+ * types are never visited and no tree walk is needed. Visiting a node is
+ * one array lookup plus a call per subscribed rule. A dispatcher keeps no
+ * per-document state and can check documents on several threads at once.
+ */
+public final class NodeRuleDispatcher {
+
+    private static final int[] NO_RULES = new int[0];
+
+    private final List<NodeRule> rules;
+
+    /**
+     * Indexes into {@link #rules} of the rules visiting each node type, by ordinal.
+     */
+    private final int[][] rulesByType;
+
+    /**
+     * Node types with at least one subscribed rule.
+     */
+    private final Set<MdNodeType> subscribedTypes = EnumSet.noneOf(MdNodeType.class);
+
+    public NodeRuleDispatcher(List<? extends NodeRule> rules) {
+        this.rules = List.copyOf(rules);
+        MdNodeType[] types = MdNodeType.values();
+        this.rulesByType = new int[types.length][];
+        for (MdNodeType type : types) {
+            int[] subscribed = new int[this.rules.size()];
+            int count = 0;
+            for (int i = 0; i < this.rules.size(); i++) {
+                if (this.rules.get(i).getNodeTypes().contains(type)) {
+                    subscribed[count++] = i;
+                }
+            }
+            rulesByType[type.ordinal()] = count == 0 ? NO_RULES : Arrays.copyOf(subscribed, count);
+            if (count > 0) {
+                subscribedTypes.add(type);
+            }
+        }
+    }
+
+    /**
+     * Checks a document with all rules.
+     *
+     * @return the errors of each rule, in the order the rules were given
+     */
+    public List<List<CheckError>> check(CheckContext context) {
+        int ruleCount = rules.size();
+        if (ruleCount == 0) {
+            return List.of();
+        }
+        NodeRule.Visitor[] visitors = new NodeRule.Visitor[ruleCount];
+        List<List<CheckError>> errors = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            visitors[i] = rules.get(i).newVisitor(context);
+            errors.add(new ArrayList<>());
+        }
+
+        TreeNode<MdAstNode> document = context.getDocument();
+        if (document != null) {
+            // Same order as a pre-order walk, TreeNode.Query.all()
+            for (TreeNode<MdAstNode> node : DocumentIndex.of(document).nodesOfTypes(subscribedTypes)) {
+                for (int rule : rulesByType[node.getData().getNodeType().ordinal()]) {
+                    visitors[rule].visit(node, errors.get(rule));
+                }
+            }
+        }
+
+        for (int i = 0; i < ruleCount; i++) {
+            visitors[i].finish(errors.get(i));
+        }
+        return errors;
+    }
+}
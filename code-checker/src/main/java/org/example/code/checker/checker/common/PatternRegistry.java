@@ -0,0 +1,205 @@
+package org.example.code.checker.checker.common;
+
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The regular expressions used by check rules, each compiled once.
+ * <p>
+ * Every pattern has an id and a built-in default. A project can replace
+ * patterns through a rule configuration file, see {@link #load(Path)}; a
+ * replacement is compiled with the flags of the default, and inline flags
+ * such as {@code (?i)} can add more. Checkers look their patterns up when
+ * they are created, so the hot path only uses compiled patterns.
+ * <p>
+ * A registry is immutable and can be shared by all checkers and threads.
+ */
+public final class PatternRegistry {
+
+    /**
+     * Front matter block: the YAML between the {@code ---} fences is group 1.
+     */
+    public static final String FRONT_MATTER_BLOCK = "frontMatter.block";
+
+    /**
+     * Closing {@code ---} fence of a front matter block without line breaks.
+     */
+    public static final String FRONT_MATTER_CLOSING_FENCE = "frontMatter.closingFence";
+
+    /**
+     * Accepted form of the front matter description, matched against the
+     * whole description with whitespace runs collapsed to one space.
+     */
+    public static final String FRONT_MATTER_DESCRIPTION = "frontMatter.description";
+
+    /**
+     * Argument list item text after the name: tags in group 1, description in group 2.
+     */
+    public static final String ARGUMENT_TAGS = "argumentList.tags";
+
+    /**
+     * Same as {@link #ARGUMENT_TAGS}, for items without the dash after the name.
+     */
+    public static final String ARGUMENT_TAGS_WITHOUT_DASH = "argumentList.tagsWithoutDash";
+
+    /**
+     * Attribute list item text after the name: tags in group 1, description in group 2.
+     */
+    public static final String ATTRIBUTE_TAGS = "attributeList.tags";
+
+    /**
+     * Same as {@link #ATTRIBUTE_TAGS}, for items without the dash after the name.
+     */
+    public static final String ATTRIBUTE_TAGS_WITHOUT_DASH = "attributeList.tagsWithoutDash";
+
+    private static final String TAGS = "^\\s*-\\s*\\(([^)]+)\\)\\s*(.*)$";
+
+    private static final String TAGS_WITHOUT_DASH = "^\\s*\\(([^)]+)\\)\\s*(.*)$";
+
+    private static final PatternRegistry DEFAULTS = new PatternRegistry(defaultPatterns(), "");
+
+    private final Map<String, Pattern> patterns;
+
+    /**
+     * Replaced patterns, as part of the fingerprint of the checkers using them.
+     */
+    private final String fingerprint;
+
+    private PatternRegistry(Map<String, Pattern> patterns, String fingerprint) {
+        this.patterns = patterns;
+        this.fingerprint = fingerprint;
+    }
+
+    private static Map<String, Pattern> defaultPatterns() {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        patterns.put(FRONT_MATTER_BLOCK,
+                Pattern.compile("^---\\s*\\r?\\n([\\s\\S]*?)\\r?\\n---\\s*$", Pattern.MULTILINE));
+        patterns.put(FRONT_MATTER_CLOSING_FENCE, Pattern.compile("---\\s*$"));
+        patterns.put(FRONT_MATTER_DESCRIPTION,
+                Pattern.compile("^(Use|Using) this (resource|data source) to .*", Pattern.CASE_INSENSITIVE));
+        patterns.put(ARGUMENT_TAGS, Pattern.compile(TAGS, Pattern.DOTALL));
+        patterns.put(ARGUMENT_TAGS_WITHOUT_DASH, Pattern.compile(TAGS_WITHOUT_DASH, Pattern.DOTALL));
+        patterns.put(ATTRIBUTE_TAGS, Pattern.compile(TAGS, Pattern.DOTALL));
+        patterns.put(ATTRIBUTE_TAGS_WITHOUT_DASH, Pattern.compile(TAGS_WITHOUT_DASH, Pattern.DOTALL));
+        return Map.copyOf(patterns);
+    }
+
+    /**
+     * Gets the registry with the built-in patterns.
+     */
+    public static PatternRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Loads a registry from a rule configuration file: the built-in patterns,
+     * with those listed under {@code patterns} replaced, e.g.
+     * <pre>
+     * patterns:
+     *   frontMatter.description: "^(Use|Using|Manages) this (resource|data source) to .*"
+     * </pre>
+     *
+     * @throws IllegalArgumentException if the file is not a map of the form
+     *                                  above, names an unknown pattern or a
+     *                                  pattern does not compile
+     */
+    public static PatternRegistry load(Path configFile) throws IOException {
+        Object config;
+        try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+            config = new Yaml().load(reader);
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("Invalid YAML in " + configFile + ": " + e.getMessage(), e);
+        }
+        if (config == null) {
+            return DEFAULTS;
+        }
+        if (!(config instanceof Map)) {
+            throw new IllegalArgumentException(configFile + " must be a map with a 'patterns' entry");
+        }
+        Object patterns = ((Map<?, ?>) config).get("patterns");
+        if (patterns == null) {
+            return DEFAULTS;
+        }
+        if (!(patterns instanceof Map)) {
+            throw new IllegalArgumentException(
+                    "'patterns' in " + configFile + " must be a map of pattern ids to regexes");
+        }
+
+        Map<String, String> regexes = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) patterns).entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IllegalArgumentException(
+                        "Pattern id " + entry.getKey() + " in " + configFile + " must be a string");
+            }
+            if (!(entry.getValue() instanceof String)) {
+                throw new IllegalArgumentException("Pattern '" + entry.getKey() + "' in " + configFile
+                        + " must be a regex string, got " + entry.getValue());
+            }
+            regexes.put((String) entry.getKey(), (String) entry.getValue());
+        }
+        return DEFAULTS.withOverrides(regexes);
+    }
+
+    /**
+     * Returns a registry with some patterns replaced.
+     *
+     * @param regexes regular expressions by pattern id
+     * @throws IllegalArgumentException if an id is unknown or a pattern does not compile
+     */
+    public PatternRegistry withOverrides(Map<String, String> regexes) {
+        if (regexes.isEmpty()) {
+            return this;
+        }
+        Map<String, Pattern> replaced = new LinkedHashMap<>(patterns);
+        for (Map.Entry<String, String> entry : regexes.entrySet()) {
+            Pattern current = get(entry.getKey());
+            try {
+                replaced.put(entry.getKey(), Pattern.compile(entry.getValue(), current.flags()));
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid pattern '" + entry.getKey() + "': " + e.getMessage(), e);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Pattern> entry : new TreeMap<>(replaced).entrySet()) {
+            Pattern pattern = entry.getValue();
+            if (!pattern.pattern().equals(DEFAULTS.patterns.get(entry.getKey()).pattern())) {
+                sb.append('[').append(entry.getKey()).append('=').append(pattern.pattern()).append(']');
+            }
+        }
+        return new PatternRegistry(Map.copyOf(replaced), sb.toString());
+    }
+
+    /**
+     * Gets a compiled pattern.
+     *
+     * @throws IllegalArgumentException if no pattern has this id
+     */
+    public Pattern get(String id) {
+        Pattern pattern = patterns.get(id);
+        if (pattern == null) {
+            throw new IllegalArgumentException(
+                    "Unknown pattern id: " + id + ", known ids: " + new TreeMap<>(patterns).keySet());
+        }
+        return pattern;
+    }
+
+    /**
+     * Gets a string identifying the patterns that differ from the built-in
+     * ones; empty for the defaults.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+}
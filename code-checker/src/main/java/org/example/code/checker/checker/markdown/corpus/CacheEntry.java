@@ -0,0 +1,74 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentList;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeList;
+import org.example.code.checker.checker.markdown.task.structure.example.Example;
+import org.example.code.checker.checker.markdown.task.structure.title.Title;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON form of a {@link FileResult} stored by {@link ResultCache}.
+ */
+class CacheEntry {
+
+    private final String fileId;
+    private final Map<String, List<CheckError>> errorsByNode;
+    private final Title title;
+    private final ArgumentList argumentList;
+    private final AttributeList attributeList;
+    private final Example example;
+
+    @JsonCreator
+    CacheEntry(
+            @JsonProperty("fileId") String fileId,
+            @JsonProperty("errorsByNode") Map<String, List<CheckError>> errorsByNode,
+            @JsonProperty("title") Title title,
+            @JsonProperty("argumentList") ArgumentList argumentList,
+            @JsonProperty("attributeList") AttributeList attributeList,
+            @JsonProperty("example") Example example) {
+        this.fileId = fileId;
+        this.errorsByNode = errorsByNode;
+        this.title = title;
+        this.argumentList = argumentList;
+        this.attributeList = attributeList;
+        this.example = example;
+    }
+
+    static CacheEntry of(FileResult result) {
+        return new CacheEntry(result.getFileId(), result.getErrorsByNode(), result.getTitle(),
+                result.getArgumentList(), result.getAttributeList(), result.getExample());
+    }
+
+    FileResult toFileResult() {
+        return new FileResult(fileId, errorsByNode, null, title, argumentList, attributeList, example);
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public Map<String, List<CheckError>> getErrorsByNode() {
+        return errorsByNode;
+    }
+
+    public Title getTitle() {
+        return title;
+    }
+
+    public ArgumentList getArgumentList() {
+        return argumentList;
+    }
+
+    public AttributeList getAttributeList() {
+        return attributeList;
+    }
+
+    public Example getExample() {
+        return example;
+    }
+}
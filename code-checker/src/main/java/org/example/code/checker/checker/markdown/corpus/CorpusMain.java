@@ -0,0 +1,148 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.flow.engine.analyzer.ExecutionPolicy;
+import org.example.flow.engine.metrics.TaskMetricsAggregator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for checking a tree of provider documents.
+ * <p>
+ * Usage: {@code CorpusMain [--metrics] [--cache <dir>] [--format text|jsonl|sarif] [--output <file>]
+ * [--fail-fast | --max-errors <n>] [--virtual-threads] [--patterns <file>]
+ * <directory|file|glob> [workers]}
+ * <p>
+ * With {@code --metrics}, per-checker p50/p95/p99 of wall time, CPU time and
+ * allocation are printed after the results. With {@code --cache}, results of
+ * unchanged files are read from the given directory instead of re-checked.
+ * <p>
+ * With {@code --format jsonl} or {@code --format sarif}, errors are streamed
+ * to the output file (standard output by default) as each file is checked,
+ * and the summary, cache and metrics lines go to standard error.
+ * <p>
+ * With {@code --fail-fast} the run stops at the first error, with
+ * {@code --max-errors} once that many errors were reported in total;
+ * checkers and files that have not started by then are skipped.
+ * <p>
+ * With {@code --virtual-threads} (Java 21 or later), files are loaded on
+ * virtual threads, and {@code workers} only bounds how many are parsed and
+ * checked at once. This helps when files are on a slow or network file
+ * system.
+ * <p>
+ * With {@code --patterns}, the rule patterns listed in the given YAML file
+ * replace the built-in ones, see {@link PatternRegistry#load}.
+ * <p>
+ * Exits with status 1 when any error was reported or any file failed.
+ */
+public class CorpusMain {
+
+    private static final String USAGE =
+            "Usage: CorpusMain [--metrics] [--cache <dir>] [--format text|jsonl|sarif] [--output <file>] "
+                    + "[--fail-fast | --max-errors <n>] [--virtual-threads] [--patterns <file>] "
+                    + "<directory|file|glob> [workers]";
+
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>();
+        boolean metrics = false;
+        String cacheDirectory = null;
+        String format = "text";
+        String output = null;
+        ExecutionPolicy policy = ExecutionPolicy.runToCompletion();
+        boolean virtualThreads = false;
+        String patternsFile = null;
+        if (args != null) {
+            for (int i = 0; i < args.length; i++) {
+                if ("--metrics".equals(args[i])) {
+                    metrics = true;
+                } else if ("--cache".equals(args[i]) && i + 1 < args.length) {
+                    cacheDirectory = args[++i];
+                } else if ("--format".equals(args[i]) && i + 1 < args.length) {
+                    format = args[++i];
+                } else if ("--output".equals(args[i]) && i + 1 < args.length) {
+                    output = args[++i];
+                } else if ("--fail-fast".equals(args[i])) {
+                    policy = ExecutionPolicy.failFast();
+                } else if ("--max-errors".equals(args[i]) && i + 1 < args.length) {
+                    policy = ExecutionPolicy.errorBudget(Integer.parseInt(args[++i]));
+                } else if ("--virtual-threads".equals(args[i])) {
+                    virtualThreads = true;
+                } else if ("--patterns".equals(args[i]) && i + 1 < args.length) {
+                    patternsFile = args[++i];
+                } else {
+                    arguments.add(args[i]);
+                }
+            }
+        }
+
+        if (arguments.isEmpty() || !List.of("text", "jsonl", "sarif").contains(format)) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (virtualThreads && !VirtualThreads.isAvailable()) {
+            System.err.println("--virtual-threads needs Java 21 or later, running on Java " + Runtime.version());
+            System.exit(2);
+            return;
+        }
+
+        TaskMetricsAggregator aggregator = metrics ? new TaskMetricsAggregator() : null;
+        ResultCache cache = cacheDirectory != null ? new ResultCache(Paths.get(cacheDirectory)) : null;
+        int workers = arguments.size() > 1
+                ? Integer.parseInt(arguments.get(1))
+                : Runtime.getRuntime().availableProcessors();
+        PatternRegistry patterns = PatternRegistry.defaults();
+        if (patternsFile != null) {
+            try {
+                patterns = PatternRegistry.load(Paths.get(patternsFile));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid pattern configuration " + patternsFile + ": " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+        CorpusRunner runner = new CorpusRunner(workers, aggregator, cache, policy, virtualThreads, patterns);
+
+        CorpusResult result;
+        PrintStream summary;
+        if ("text".equals(format)) {
+            result = runner.run(arguments.get(0));
+            result.print(System.out);
+            summary = System.out;
+        } else {
+            OutputStream out = output != null
+                    ? new BufferedOutputStream(Files.newOutputStream(Paths.get(output)))
+                    : System.out;
+            try (ResultReporter reporter = "sarif".equals(format)
+                    ? new SarifReporter(out)
+                    : new JsonLinesReporter(out)) {
+                result = runner.run(arguments.get(0), reporter);
+            } finally {
+                if (output != null) {
+                    out.close();
+                } else {
+                    out.flush();
+                }
+            }
+            summary = System.err;
+            result.printSummary(summary);
+        }
+        if (cache != null) {
+            summary.printf("Cache: %d hits, %d misses%n", cache.getHits(), cache.getMisses());
+        }
+        if (aggregator != null) {
+            aggregator.print(summary);
+        }
+
+        if (result.hasProblems()) {
+            System.exit(1);
+        }
+    }
+}
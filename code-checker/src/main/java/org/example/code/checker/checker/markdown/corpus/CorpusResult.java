@@ -0,0 +1,121 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.common.CheckError;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated check results of a corpus run, ordered by file path.
+ * <p>
+ * Runs that stream their results to a {@link ResultReporter} only keep the
+ * counts; {@link #getFiles()} is empty for them.
+ */
+public class CorpusResult {
+
+    private final List<FileResult> files;
+
+    private final int fileCount;
+
+    private final int errorCount;
+
+    private final int failedFileCount;
+
+    private final long elapsedMillis;
+
+    /**
+     * True if the execution policy ended the run before all files were checked.
+     */
+    private final boolean halted;
+
+    public CorpusResult(List<FileResult> files, long elapsedMillis) {
+        this(files, elapsedMillis, false);
+    }
+
+    public CorpusResult(List<FileResult> files, long elapsedMillis, boolean halted) {
+        this.files = List.copyOf(files);
+        this.elapsedMillis = elapsedMillis;
+        this.halted = halted;
+        this.fileCount = files.size();
+        int errors = 0;
+        int failed = 0;
+        for (FileResult file : files) {
+            errors += file.getErrorCount();
+            if (file.isFailed()) {
+                failed++;
+            }
+        }
+        this.errorCount = errors;
+        this.failedFileCount = failed;
+    }
+
+    /**
+     * Creates a result that only has the counts of a run.
+     */
+    public CorpusResult(int fileCount, int errorCount, int failedFileCount, long elapsedMillis, boolean halted) {
+        this.files = List.of();
+        this.fileCount = fileCount;
+        this.errorCount = errorCount;
+        this.failedFileCount = failedFileCount;
+        this.elapsedMillis = elapsedMillis;
+        this.halted = halted;
+    }
+
+    public List<FileResult> getFiles() {
+        return files;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isHalted() {
+        return halted;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getFailedFileCount() {
+        return failedFileCount;
+    }
+
+    public boolean hasProblems() {
+        return getErrorCount() > 0 || getFailedFileCount() > 0;
+    }
+
+    /**
+     * Prints every error followed by a one-line summary.
+     */
+    public void print(PrintStream out) {
+        for (FileResult file : files) {
+            if (file.isFailed()) {
+                out.println("\nFailed " + file.getFileId() + ": " + file.getFailure().getMessage());
+            }
+            for (Map.Entry<String, List<CheckError>> entry : file.getErrorsByNode().entrySet()) {
+                out.println("\nErrors from " + entry.getKey() + ":");
+                for (CheckError error : entry.getValue()) {
+                    out.println("  - " + error.getMessage());
+                }
+            }
+        }
+        printSummary(out);
+    }
+
+    /**
+     * Prints the one-line summary only.
+     */
+    public void printSummary(PrintStream out) {
+        out.printf("%nChecked %d files in %d ms: %d errors, %d failed files%n",
+                getFileCount(), elapsedMillis, getErrorCount(), getFailedFileCount());
+        if (halted) {
+            out.println("Stopped early: the error limit was reached, remaining files were not checked");
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.flow.engine.analyzer.ExecutionPolicy;
+import org.example.flow.engine.analyzer.FlowEngine;
+import org.example.flow.engine.metrics.TaskListener;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks a whole tree of markdown documents in one JVM.
+ * <p>
+ * Files are processed on a bounded worker pool. All workers share one
+ * {@link MarkdownPipeline}: its checkers keep no per-file state, so each
+ * checker is created once for the whole run.
+ * <p>
+ * An optional {@link TaskListener} is attached to the pipeline, for example
+ * a {@code TaskMetricsAggregator} to report per-checker percentiles of the
+ * whole run. An optional {@link ResultCache} lets unchanged files skip
+ * re-checking.
+ * <p>
+ * With a {@link ResultReporter}, each file's result is handed to the
+ * reporter in file order as soon as it is available and then dropped; at
+ * most a few files per worker are checked ahead of the reporter, so memory
+ * does not grow with the size of the corpus.
+ * <p>
+ * An optional {@link ExecutionPolicy} applies to the whole run, so with a
+ * fail-fast or error-budget policy, once it is
+ * halted, running files skip their remaining checkers and files that have
+ * not started are not checked at all.
+ * <p>
+ * With virtual threads (Java 21 or later), every file is loaded and checked
+ * on its own virtual thread, so many more files than CPUs can wait on a
+ * slow file system at the same time. Only loading runs unbounded: parsing
+ * and checking hold one of {@code workers} permits, so CPU-bound work never
+ * runs on more than that many threads at once.
+ */
+public class CorpusRunner {
+
+    private static final String MARKDOWN_GLOB = "glob:**.md";
+
+    /**
+     * Files submitted per worker ahead of the one being reported.
+     */
+    private static final int REPORT_WINDOW_PER_WORKER = 4;
+
+    /**
+     * Files submitted per worker ahead of the one being reported, with
+     * virtual threads. Larger, since most of them are waiting for I/O.
+     */
+    private static final int VIRTUAL_REPORT_WINDOW_PER_WORKER = 64;
+
+    private final int workers;
+
+    private final ExecutionPolicy policy;
+
+    private final MarkdownPipeline pipeline;
+
+    /**
+     * Permits for parsing and checking with virtual threads, null with a
+     * platform thread pool.
+     */
+    private final Semaphore cpuPermits;
+
+    public CorpusRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public CorpusRunner(int workers) {
+        this(workers, null);
+    }
+
+    /**
+     * @param workers      number of files checked concurrently
+     * @param taskListener listener attached to the pipeline engine, may be null
+     */
+    public CorpusRunner(int workers, TaskListener taskListener) {
+        this(workers, taskListener, null);
+    }
+
+    /**
+     * @param workers      number of files checked concurrently
+     * @param taskListener listener attached to the pipeline engine, may be null
+     * @param cache        result cache, may be null
+     */
+    public CorpusRunner(int workers, TaskListener taskListener, ResultCache cache) {
+        this(workers, taskListener, cache, null);
+    }
+
+    /**
+     * @param workers      number of files checked concurrently
+     * @param taskListener listener attached to the pipeline engine, may be null
+     * @param cache        result cache, may be null
+     * @param policy       execution policy of the pipeline engine, may be null
+     *                     to run every file to completion
+     */
+    public CorpusRunner(int workers, TaskListener taskListener, ResultCache cache, ExecutionPolicy policy) {
+        this(workers, taskListener, cache, policy, false);
+    }
+
+    /**
+     * @param workers        number of files parsed and checked concurrently
+     * @param taskListener   listener attached to the pipeline engine, may be null
+     * @param cache          result cache, may be null
+     * @param policy         execution policy of the pipeline engine, may be null
+     *                       to run every file to completion
+     * @param virtualThreads whether to load and check each file on its own
+     *                       virtual thread
+     * @throws IllegalStateException if virtual threads are asked for and the
+     *                               JVM is older than Java 21
+     */
+    public CorpusRunner(int workers, TaskListener taskListener, ResultCache cache, ExecutionPolicy policy,
+                        boolean virtualThreads) {
+        this(workers, taskListener, cache, policy, virtualThreads, null);
+    }
+
+    /**
+     * @param workers        number of files parsed and checked concurrently
+     * @param taskListener   listener attached to the pipeline engine, may be null
+     * @param cache          result cache, may be null
+     * @param policy         execution policy of the pipeline engine, may be null
+     *                       to run every file to completion
+     * @param virtualThreads whether to load and check each file on its own
+     *                       virtual thread
+     * @param patterns       patterns of the checkers, may be null for the
+     *                       built-in ones
+     * @throws IllegalStateException if virtual threads are asked for and the
+     *                               JVM is older than Java 21
+     */
+    public CorpusRunner(int workers, TaskListener taskListener, ResultCache cache, ExecutionPolicy policy,
+                        boolean virtualThreads, PatternRegistry patterns) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1, got " + workers);
+        }
+        if (virtualThreads && !VirtualThreads.isAvailable()) {
+            throw new IllegalStateException(
+                    "Virtual threads need Java 21 or later, running on Java " + Runtime.version());
+        }
+        this.workers = workers;
+        this.policy = policy != null ? policy : ExecutionPolicy.runToCompletion();
+        this.cpuPermits = virtualThreads ? new Semaphore(workers) : null;
+
+        FlowEngine engine = new FlowEngine();
+        engine.setExecutionPolicy(this.policy);
+        if (taskListener != null) {
+            engine.addListener(taskListener);
+        }
+        this.pipeline = new MarkdownPipeline(engine, cache,
+                patterns != null ? patterns : PatternRegistry.defaults());
+    }
+
+    /**
+     * Checks all markdown files selected by a directory, a single file or a glob.
+     *
+     * @param pathOrGlob directory (all {@code .md} files below it), file path,
+     *                   or glob such as {@code docs/resources/*.md}
+     * @return aggregated result ordered by file path
+     */
+    public CorpusResult run(String pathOrGlob) throws IOException {
+        return run(collectFiles(pathOrGlob));
+    }
+
+    /**
+     * Checks all markdown files selected by a directory, a single file or a
+     * glob, streaming each file's result to a reporter.
+     *
+     * @return counts of the run, without the file results
+     * @see #run(List, ResultReporter)
+     */
+    public CorpusResult run(String pathOrGlob, ResultReporter reporter) throws IOException {
+        return run(collectFiles(pathOrGlob), reporter);
+    }
+
+    /**
+     * Checks the given markdown files.
+     *
+     * @param files markdown file paths
+     * @return aggregated result in the order of the given files; files not
+     * checked because the execution policy halted are left out
+     */
+    public CorpusResult run(List<Path> files) {
+        long start = System.nanoTime();
+        ExecutorService pool = newPool();
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(pool.submit(() -> check(file.toString())));
+            }
+
+            List<FileResult> results = new ArrayList<>(files.size());
+            for (int i = 0; i < futures.size(); i++) {
+                FileResult result = await(futures.get(i), files.get(i).toString());
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            return new CorpusResult(results, elapsedMillis, policy.isHalted());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks the given markdown files, handing each file's result to the
+     * reporter in the order of the given files. The reporter is not closed.
+     *
+     * @param files    markdown file paths
+     * @param reporter receives every file result
+     * @return counts of the run, without the file results
+     * @throws IOException if the reporter fails to write; the run stops
+     */
+    public CorpusResult run(List<Path> files, ResultReporter reporter) throws IOException {
+        long start = System.nanoTime();
+        int window = workers * (cpuPermits != null ? VIRTUAL_REPORT_WINDOW_PER_WORKER : REPORT_WINDOW_PER_WORKER);
+        ExecutorService pool = newPool();
+        try {
+            Deque<Future<FileResult>> pending = new ArrayDeque<>(window);
+            int submitted = 0;
+            int fileCount = 0;
+            int errorCount = 0;
+            int failedFileCount = 0;
+            for (int i = 0; i < files.size(); i++) {
+                while (submitted < files.size() && submitted - i < window && !policy.isHalted()) {
+                    String filePath = files.get(submitted++).toString();
+                    pending.add(pool.submit(() -> check(filePath)));
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+                FileResult result = await(pending.poll(), files.get(i).toString());
+                if (result == null) {
+                    continue;
+                }
+                fileCount++;
+                errorCount += result.getErrorCount();
+                if (result.isFailed()) {
+                    failedFileCount++;
+                }
+                reporter.report(result);
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            return new CorpusResult(fileCount, errorCount, failedFileCount, elapsedMillis, policy.isHalted());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ExecutorService newPool() {
+        if (cpuPermits != null) {
+            return VirtualThreads.newExecutor();
+        }
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "corpus-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the result, or null if the policy halted before the file was started
+     */
+    private FileResult check(String filePath) throws InterruptedException {
+        if (policy.isHalted()) {
+            return null;
+        }
+        if (cpuPermits == null) {
+            return pipeline.run(filePath);
+        }
+
+        byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(filePath));
+        } catch (IOException e) {
+            // Unreadable file, let the parser report the failure
+            content = null;
+        }
+        cpuPermits.acquire();
+        try {
+            if (policy.isHalted()) {
+                return null;
+            }
+            return pipeline.run(filePath, content);
+        } finally {
+            cpuPermits.release();
+        }
+    }
+
+    private FileResult await(Future<FileResult> future, String filePath) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking " + filePath, e);
+        } catch (ExecutionException e) {
+            return new FileResult(filePath, null, e.getCause());
+        }
+    }
+
+    /**
+     * Resolves a directory, file or glob into a sorted list of markdown files.
+     */
+    public static List<Path> collectFiles(String pathOrGlob) throws IOException {
+        int globStart = indexOfGlob(pathOrGlob);
+        if (globStart < 0) {
+            Path path = Paths.get(pathOrGlob);
+            if (Files.isRegularFile(path)) {
+                return List.of(path);
+            }
+            if (!Files.isDirectory(path)) {
+                throw new IOException("No such file or directory: " + pathOrGlob);
+            }
+            return walk(path, FileSystems.getDefault().getPathMatcher(MARKDOWN_GLOB));
+        }
+
+        // Walk from the directory that precedes the first glob character
+        int lastSeparator = pathOrGlob.lastIndexOf('/', globStart);
+        Path base = lastSeparator < 0 ? Paths.get("") : Paths.get(pathOrGlob.substring(0, lastSeparator + 1));
+        if (!Files.isDirectory(base)) {
+            throw new IOException("No such directory: " + base);
+        }
+        return walk(base, FileSystems.getDefault().getPathMatcher("glob:" + pathOrGlob));
+    }
+
+    private static int indexOfGlob(String pathOrGlob) {
+        for (int i = 0; i < pathOrGlob.length(); i++) {
+            char c = pathOrGlob.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Path> walk(Path base, PathMatcher matcher) throws IOException {
+        try (Stream<Path> stream = Files.walk(base)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.utils.DocumentLoader;
+import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
+import org.example.flow.engine.node.TaskNode;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Task node that reads a markdown file and parses it into an AST.
+ * <p>
+ * Inputs: {@code filePath}, and optionally {@code fileContent} with the raw
+ * bytes of the file when the caller has already read it; the file is then
+ * not read again.
+ * <p>
+ * The text keeps the line endings of the file (see {@link DocumentLoader}).
+ * Loaders are pooled, so a parser checking many files reuses their decode
+ * buffers; the parser itself stays safe to run on several threads.
+ * <p>
+ * Outputs: {@code rawCode}, {@code originalDocument}, {@code workingDocument}
+ * and {@code fileId}.
+ */
+public class DocumentParser extends TaskNode {
+
+    /**
+     * Idle loaders, at most one per thread that parsed at the same time.
+     */
+    private final Queue<DocumentLoader> loaders = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public List<TaskData<?>> task(TaskContext context) {
+        TaskData<?> filePathData = context.get("filePath");
+        if (filePathData == null) {
+            throw new IllegalArgumentException("Missing required input: filePath");
+        }
+        String filePath = (String) filePathData.getPayload();
+
+        try {
+            String mdContent = load(filePath, context.get("fileContent"));
+            TreeNode<MdAstNode> document = MdAstGenerator.generate(mdContent, filePath);
+
+            List<TaskData<?>> output = new ArrayList<>();
+            output.add(new TaskData<>("rawCode", mdContent));
+            output.add(new TaskData<>("originalDocument", document));
+            output.add(new TaskData<>("workingDocument", document));
+            output.add(new TaskData<>("fileId", filePath));
+
+            return output;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse markdown file: " + filePath, e);
+        }
+    }
+
+    @Override
+    public String getVersion() {
+        // Line endings of the file are kept since version 2
+        return "2";
+    }
+
+    private String load(String filePath, TaskData<?> fileContentData) throws IOException {
+        DocumentLoader loader = loaders.poll();
+        if (loader == null) {
+            loader = DocumentLoader.batch();
+        }
+        try {
+            return fileContentData != null
+                    ? loader.decode((byte[]) fileContentData.getPayload())
+                    : loader.load(Paths.get(filePath));
+        } finally {
+            loaders.offer(loader);
+        }
+    }
+}
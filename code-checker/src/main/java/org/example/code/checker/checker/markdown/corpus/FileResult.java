@@ -0,0 +1,98 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentList;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeList;
+import org.example.code.checker.checker.markdown.task.structure.example.Example;
+import org.example.code.checker.checker.markdown.task.structure.title.Title;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Check result of a single markdown file.
+ */
+public class FileResult {
+
+    /**
+     * Path of the checked file.
+     */
+    private final String fileId;
+
+    /**
+     * Errors reported by each checker, keyed by task node id in pipeline order.
+     */
+    private final Map<String, List<CheckError>> errorsByNode;
+
+    /**
+     * Failure that aborted the pipeline (for example an unreadable file), or null.
+     */
+    private final Throwable failure;
+
+    /**
+     * Extracted sections, null when the checker reported errors or did not run.
+     */
+    private final Title title;
+    private final ArgumentList argumentList;
+    private final AttributeList attributeList;
+    private final Example example;
+
+    public FileResult(String fileId, Map<String, List<CheckError>> errorsByNode, Throwable failure) {
+        this(fileId, errorsByNode, failure, null, null, null, null);
+    }
+
+    public FileResult(String fileId, Map<String, List<CheckError>> errorsByNode, Throwable failure,
+                      Title title, ArgumentList argumentList, AttributeList attributeList, Example example) {
+        this.fileId = fileId;
+        this.errorsByNode = errorsByNode != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(errorsByNode))
+                : Collections.emptyMap();
+        this.failure = failure;
+        this.title = title;
+        this.argumentList = argumentList;
+        this.attributeList = attributeList;
+        this.example = example;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public Map<String, List<CheckError>> getErrorsByNode() {
+        return errorsByNode;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public Title getTitle() {
+        return title;
+    }
+
+    public ArgumentList getArgumentList() {
+        return argumentList;
+    }
+
+    public AttributeList getAttributeList() {
+        return attributeList;
+    }
+
+    public Example getExample() {
+        return example;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public int getErrorCount() {
+        int count = 0;
+        for (List<CheckError> errors : errorsByNode.values()) {
+            count += errors.size();
+        }
+        return count;
+    }
+}
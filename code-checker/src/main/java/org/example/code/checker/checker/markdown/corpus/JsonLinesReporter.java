@@ -0,0 +1,81 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one JSON object per line: one per error, and one per file that
+ * could not be checked.
+ * <p>
+ * Error lines have {@code file}, {@code checker}, {@code ruleId},
+ * {@code severity}, {@code message} and, when known, the 1-based
+ * {@code line} and {@code column}, {@code nodeId} and {@code nodeType}.
+ * Failure lines have {@code file} and {@code failure}. The output is
+ * flushed after each file.
+ */
+public class JsonLinesReporter implements ResultReporter {
+
+    private final JsonGenerator generator;
+
+    public JsonLinesReporter(OutputStream out) throws IOException {
+        this.generator = new JsonFactory()
+                .setRootValueSeparator(null)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    @Override
+    public void report(FileResult result) throws IOException {
+        if (result.isFailed()) {
+            generator.writeStartObject();
+            generator.writeStringField("file", result.getFileId());
+            generator.writeStringField("failure", String.valueOf(result.getFailure().getMessage()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        for (Map.Entry<String, List<CheckError>> entry : result.getErrorsByNode().entrySet()) {
+            for (CheckError error : entry.getValue()) {
+                writeError(result.getFileId(), entry.getKey(), error);
+            }
+        }
+        generator.flush();
+    }
+
+    private void writeError(String fileId, String checkerId, CheckError error) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("file", fileId);
+        generator.writeStringField("checker", checkerId);
+        if (error.getRuleId() != null) {
+            generator.writeStringField("ruleId", error.getRuleId());
+        }
+        generator.writeStringField("severity", error.getSeverity().name());
+        String description = error.getDescription();
+        generator.writeStringField("message", description != null ? description : error.getMessage());
+        SourceRange range = error.getSourceRange();
+        if (range != null) {
+            generator.writeNumberField("line", range.getLine() + 1);
+            generator.writeNumberField("column", range.getColumn() + 1);
+        }
+        if (error.getNodeId() != null) {
+            generator.writeStringField("nodeId", error.getNodeId());
+        }
+        if (error.getNodeType() != null) {
+            generator.writeStringField("nodeType", error.getNodeType());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import org.example.code.checker.checker.Checker;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.code.checker.checker.markdown.task.rule.ContentNumberRule;
+import org.example.code.checker.checker.markdown.task.structure.StructureChecker;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentList;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentListChecker;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeList;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeListChecker;
+import org.example.code.checker.checker.markdown.task.structure.example.Example;
+import org.example.code.checker.checker.markdown.task.structure.example.ExampleChecker;
+import org.example.code.checker.checker.markdown.task.structure.front.matter.FrontMatterChecker;
+import org.example.code.checker.checker.markdown.task.structure.title.Title;
+import org.example.code.checker.checker.markdown.task.structure.title.TitleChecker;
+import org.example.flow.engine.analyzer.Blackboard;
+import org.example.flow.engine.analyzer.ExecutionPlan;
+import org.example.flow.engine.analyzer.ExecutionPolicy;
+import org.example.flow.engine.analyzer.FlowEngine;
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
+import org.example.flow.engine.node.TaskNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The provider document check pipeline, wired once and reused for many files.
+ * <p>
+ * Graph:
+ * <pre>
+ *   parseMarkdown -> checkFrontMatter, checkTitle, checkStructure,
+ *                    checkExample, checkArgumentList, checkAttributeList
+ *   checkTitle, checkArgumentList, checkAttributeList -> checkContentNumber
+ * </pre>
+ * Nodes are not wired by hand: the engine resolves their inputs by name
+ * from the file path and the outputs of their dependencies at execution
+ * time. The checkers and the compiled {@link ExecutionPlan} are created
+ * once and keep no per-file state, so one pipeline can check files on
+ * several threads at the same time.
+ * <p>
+ * With a {@link ResultCache}, a file whose content, path and pipeline
+ * fingerprint match a stored entry is answered from the cache without
+ * running the engine; its errors still count towards the engine's
+ * {@link ExecutionPolicy}. Results cut short by the policy are not stored.
+ * <p>
+ * The checkers take their regular expressions from a {@link PatternRegistry},
+ * the built-in one unless another is given.
+ */
+public class MarkdownPipeline {
+
+    private final FlowEngine engine;
+
+    private final List<TaskNode> nodes;
+
+    private final ExecutionPlan plan;
+
+    private final ResultCache cache;
+
+    private final String fingerprint;
+
+    public MarkdownPipeline() {
+        this(new FlowEngine());
+    }
+
+    public MarkdownPipeline(FlowEngine engine) {
+        this(engine, null);
+    }
+
+    /**
+     * @param engine engine running the nodes
+     * @param cache  result cache, may be null
+     */
+    public MarkdownPipeline(FlowEngine engine, ResultCache cache) {
+        this(engine, cache, PatternRegistry.defaults());
+    }
+
+    /**
+     * @param engine   engine running the nodes
+     * @param cache    result cache, may be null
+     * @param patterns patterns of the checkers
+     */
+    public MarkdownPipeline(FlowEngine engine, ResultCache cache, PatternRegistry patterns) {
+        this.engine = engine;
+        this.cache = cache;
+
+        DocumentParser parser = new DocumentParser();
+        parser.setId("parseMarkdown");
+
+        List<TaskNode> fromParser = List.of(parser);
+        FrontMatterChecker frontMatterChecker = checker(new FrontMatterChecker(patterns), "checkFrontMatter", fromParser);
+        TitleChecker titleChecker = checker(new TitleChecker(), "checkTitle", fromParser);
+        StructureChecker structureChecker = checker(new StructureChecker(), "checkStructure", fromParser);
+        ExampleChecker exampleChecker = checker(new ExampleChecker(), "checkExample", fromParser);
+        ArgumentListChecker argumentListChecker =
+                checker(new ArgumentListChecker(patterns), "checkArgumentList", fromParser);
+        AttributeListChecker attributeListChecker =
+                checker(new AttributeListChecker(patterns), "checkAttributeList", fromParser);
+        ContentNumberRule contentNumberRule = checker(new ContentNumberRule(), "checkContentNumber",
+                List.of(parser, titleChecker, argumentListChecker, attributeListChecker));
+
+        this.nodes = List.of(
+                parser,
+                frontMatterChecker,
+                titleChecker,
+                structureChecker,
+                exampleChecker,
+                argumentListChecker,
+                attributeListChecker,
+                contentNumberRule);
+        this.plan = ExecutionPlan.compile(nodes);
+        this.fingerprint = ResultCache.fingerprint(nodes);
+    }
+
+    private static <C extends Checker> C checker(C checker, String id, List<TaskNode> upstream) {
+        checker.setId(id);
+        List<String> dependencies = new ArrayList<>();
+        for (TaskNode node : upstream) {
+            dependencies.add(node.getId());
+        }
+        checker.setDependencies(dependencies);
+        return checker;
+    }
+
+    /**
+     * Gets the task nodes of this pipeline in declaration order.
+     */
+    public List<TaskNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Runs the whole pipeline for one markdown file.
+     *
+     * @param filePath path of the markdown file
+     * @return errors reported by each checker, or the failure that aborted the run
+     */
+    public FileResult run(String filePath) {
+        byte[] content = null;
+        if (cache != null) {
+            try {
+                content = Files.readAllBytes(Paths.get(filePath));
+            } catch (IOException e) {
+                // Unreadable file, let the parser report the failure
+            }
+        }
+        return run(filePath, content);
+    }
+
+    /**
+     * Runs the whole pipeline for one markdown file that was already read.
+     *
+     * @param filePath path of the markdown file, used as file id
+     * @param content  raw content of the file, or null to let the parser read it
+     * @return errors reported by each checker, or the failure that aborted the run
+     */
+    public FileResult run(String filePath, byte[] content) {
+        ExecutionPolicy policy = engine.getExecutionPolicy();
+        String cacheKey = null;
+        if (cache != null && content != null) {
+            cacheKey = cache.key(fingerprint, filePath, content);
+            // A halted run skips every node, so it must not be answered from the cache either
+            FileResult cached = policy.isHalted() ? null : cache.load(cacheKey);
+            if (cached != null) {
+                policy.recordErrors(cached.getErrorCount());
+                return cached;
+            }
+        }
+
+        Map<String, TaskData<?>> inputs = new HashMap<>();
+        inputs.put("filePath", new TaskData<>("filePath", filePath));
+        if (content != null) {
+            inputs.put("fileContent", new TaskData<>("fileContent", content));
+        }
+        Blackboard blackboard = new Blackboard(plan, inputs);
+        Throwable failure = null;
+        try {
+            engine.execute(blackboard);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        Map<String, List<CheckError>> errorsByNode = new LinkedHashMap<>();
+        for (TaskNode node : nodes) {
+            TaskContext context = blackboard.getContext(node.getId());
+            if (node instanceof Checker && context != null) {
+                List<CheckError> errors = Checker.getErrorList(context);
+                if (!errors.isEmpty()) {
+                    errorsByNode.put(node.getId(), List.copyOf(errors));
+                }
+            }
+        }
+
+        FileResult result = new FileResult(filePath, errorsByNode, failure,
+                blackboard.getPayload("titleResult", Title.class),
+                blackboard.getPayload("argumentListResult", ArgumentList.class),
+                blackboard.getPayload("attributeListResult", AttributeList.class),
+                blackboard.getPayload("exampleResult", Example.class));
+
+        if (cacheKey != null && !policy.isHalted() && !isSkippedByPolicy(blackboard)) {
+            cache.store(cacheKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a node did not run although all its dependencies ran
+     * without stopping, i.e. it was skipped by the execution policy. The
+     * result of such a run is partial and depends on the policy.
+     */
+    private boolean isSkippedByPolicy(Blackboard blackboard) {
+        for (TaskNode node : nodes) {
+            if (blackboard.getContext(node.getId()) != null) {
+                continue;
+            }
+            boolean dependencyStopped = false;
+            for (String dependency : node.getDependencies()) {
+                TaskContext context = blackboard.getContext(dependency);
+                if (context == null || context.isNeedStop()) {
+                    dependencyStopped = true;
+                    break;
+                }
+            }
+            if (!dependencyStopped) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.flow.engine.node.TaskNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent on-disk cache of {@link FileResult}s.
+ * <p>
+ * Entries are keyed by the SHA-256 of the pipeline fingerprint, the file id
+ * and the raw file content. The fingerprint covers every task node class,
+ * its version and its rule configuration, so changing a checker's logic
+ * version or its rule list invalidates all entries written before. The file
+ * id is part of the key because it is embedded in the error messages.
+ * <p>
+ * The cache is best-effort: unreadable or corrupt entries count as misses
+ * and write failures are ignored. Failed runs are never stored. Instances
+ * are safe to share between threads.
+ */
+public class ResultCache {
+
+    /**
+     * Version of the entry format, part of every key.
+     */
+    private static final String FORMAT_VERSION = "1";
+
+    private final Path directory;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public ResultCache(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Builds the fingerprint of a pipeline from its nodes and their wiring.
+     *
+     * @param nodes pipeline nodes in declaration order
+     * @return fingerprint string
+     */
+    public static String fingerprint(List<TaskNode> nodes) {
+        StringBuilder sb = new StringBuilder("format@").append(FORMAT_VERSION);
+        for (TaskNode node : nodes) {
+            sb.append('\n').append(node.getId())
+                    .append(node.getDependencies())
+                    .append('=').append(node.getFingerprint());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Computes the cache key of one file.
+     *
+     * @param fingerprint pipeline fingerprint, see {@link #fingerprint(List)}
+     * @param fileId      file id used in error messages
+     * @param content     raw file content
+     * @return hex encoded key
+     */
+    public String key(String fingerprint, String fileId, byte[] content) {
+        MessageDigest digest = sha256();
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(fileId.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(content);
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Loads a cached result.
+     *
+     * @param key cache key
+     * @return the cached result, or null on a miss
+     */
+    public FileResult load(String key) {
+        Path entry = entryPath(key);
+        if (Files.isRegularFile(entry)) {
+            try {
+                FileResult result = mapper.readValue(entry.toFile(), CacheEntry.class).toFileResult();
+                hits.incrementAndGet();
+                return result;
+            } catch (IOException | RuntimeException e) {
+                // Corrupt or incompatible entry, drop it and re-check
+                deleteQuietly(entry);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a result. Failed results are not stored.
+     *
+     * @param key    cache key
+     * @param result result of a pipeline run
+     */
+    public void store(String key, FileResult result) {
+        if (result.isFailed()) {
+            return;
+        }
+        Path entry = entryPath(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+            mapper.writeValue(temp.toFile(), CacheEntry.of(result));
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    private Path entryPath(String key) {
+        // Fan out by the first two hex digits to keep directories small
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Best-effort cleanup
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the result of each file of a corpus run as soon as it is known,
+ * so findings can be written out without keeping the whole run in memory.
+ * <p>
+ * {@link CorpusRunner} calls {@link #report(FileResult)} from a single
+ * thread, in the order of the checked files. {@link #close()} completes
+ * the output; it does not close the underlying stream.
+ */
+public interface ResultReporter extends Closeable {
+
+    /**
+     * Writes the errors or failure of one checked file.
+     */
+    void report(FileResult result) throws IOException;
+}
@@ -0,0 +1,183 @@
+package org.example.code.checker.checker.markdown.corpus;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a SARIF 2.1.0 log with a single run.
+ * <p>
+ * The log header is written on construction and each file's errors are
+ * appended to {@code runs[0].results} as they are reported; {@link #close()}
+ * writes the invocation and closes the open arrays and objects. Only files
+ * that could not be checked are kept until then, as tool execution
+ * notifications.
+ * <p>
+ * Regions are 1-based as SARIF requires. The checker id and the node of an
+ * error are written as result properties.
+ */
+public class SarifReporter implements ResultReporter {
+
+    private static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    private static final String TOOL_NAME = "code-checker";
+
+    private final JsonGenerator generator;
+
+    /**
+     * Failure message by artifact URI.
+     */
+    private final Map<String, String> failures = new LinkedHashMap<>();
+
+    public SarifReporter(OutputStream out) throws IOException {
+        this.generator = new JsonFactory()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .createGenerator(out, JsonEncoding.UTF8);
+
+        generator.writeStartObject();
+        generator.writeStringField("$schema", SCHEMA);
+        generator.writeStringField("version", "2.1.0");
+        generator.writeArrayFieldStart("runs");
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("tool");
+        generator.writeObjectFieldStart("driver");
+        generator.writeStringField("name", TOOL_NAME);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("results");
+    }
+
+    @Override
+    public void report(FileResult result) throws IOException {
+        String uri = uriOf(result.getFileId());
+        if (result.isFailed()) {
+            failures.put(uri, String.valueOf(result.getFailure().getMessage()));
+        }
+        for (Map.Entry<String, List<CheckError>> entry : result.getErrorsByNode().entrySet()) {
+            for (CheckError error : entry.getValue()) {
+                writeResult(uri, entry.getKey(), error);
+            }
+        }
+        generator.flush();
+    }
+
+    private void writeResult(String uri, String checkerId, CheckError error) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ruleId", error.getRuleId() != null ? error.getRuleId() : checkerId);
+        generator.writeStringField("level", level(error.getSeverity()));
+        String description = error.getDescription();
+        writeMessage(description != null ? description : error.getMessage());
+
+        generator.writeArrayFieldStart("locations");
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("physicalLocation");
+        writeArtifactLocation(uri);
+        SourceRange range = error.getSourceRange();
+        if (range != null) {
+            generator.writeObjectFieldStart("region");
+            generator.writeNumberField("startLine", range.getLine() + 1);
+            generator.writeNumberField("startColumn", range.getColumn() + 1);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndArray();
+
+        generator.writeObjectFieldStart("properties");
+        generator.writeStringField("checker", checkerId);
+        if (error.getNodeId() != null) {
+            generator.writeStringField("nodeId", error.getNodeId());
+        }
+        if (error.getNodeType() != null) {
+            generator.writeStringField("nodeType", error.getNodeType());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // results
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("invocations");
+        generator.writeStartObject();
+        generator.writeBooleanField("executionSuccessful", failures.isEmpty());
+        if (!failures.isEmpty()) {
+            generator.writeArrayFieldStart("toolExecutionNotifications");
+            for (Map.Entry<String, String> failure : failures.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("level", "error");
+                writeMessage(failure.getValue());
+                generator.writeArrayFieldStart("locations");
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("physicalLocation");
+                writeArtifactLocation(failure.getKey());
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeEndArray();
+
+        // run, runs and log
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void writeMessage(String text) throws IOException {
+        generator.writeObjectFieldStart("message");
+        generator.writeStringField("text", text);
+        generator.writeEndObject();
+    }
+
+    private void writeArtifactLocation(String uri) throws IOException {
+        generator.writeObjectFieldStart("artifactLocation");
+        generator.writeStringField("uri", uri);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Relative paths become relative URI references, absolute paths {@code file:} URIs.
+     */
+    private static String uriOf(String fileId) {
+        try {
+            Path path = Paths.get(fileId);
+            if (path.isAbsolute()) {
+                return path.toUri().toString();
+            }
+            return new URI(null, null, fileId.replace('\\', '/'), null).toASCIIString();
+        } catch (URISyntaxException | RuntimeException e) {
+            // Not a local path, keep it as it is
+            return fileId;
+        }
+    }
+
+    private static String level(CheckError.Severity severity) {
+        switch (severity) {
+            case WARNING:
+                return "warning";
+            case INFO:
+                return "note";
+            default:
+                return "error";
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.code.checker.checker.markdown.lsp;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.LineTable;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+import org.example.code.checker.checker.markdown.session.DocumentSession;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the errors of a {@link DocumentSession} to LSP diagnostics.
+ * <p>
+ * Source ranges are 0-based like LSP positions. The diagnostic spans from
+ * the start of the range to the end of its line; errors without a range
+ * are reported on the first line.
+ */
+final class Diagnostics {
+
+    private static final String SOURCE = "code-checker";
+
+    private Diagnostics() {
+    }
+
+    /**
+     * Builds the diagnostics for the current state of a session.
+     */
+    static ArrayNode of(DocumentSession session) {
+        LineTable lines = LineTable.of(session.getDocument());
+        ArrayNode diagnostics = JsonNodeFactory.instance.arrayNode();
+        for (Map.Entry<String, List<CheckError>> entry : session.getErrorsByNode().entrySet()) {
+            for (CheckError error : entry.getValue()) {
+                diagnostics.add(diagnostic(error, entry.getKey(), lines));
+            }
+        }
+        for (Map.Entry<String, RuntimeException> entry : session.getFailures().entrySet()) {
+            ObjectNode diagnostic = JsonNodeFactory.instance.objectNode();
+            diagnostic.set("range", range(lines, 0, 0));
+            diagnostic.put("severity", 1);
+            diagnostic.put("source", SOURCE);
+            diagnostic.put("code", entry.getKey());
+            diagnostic.put("message", entry.getKey() + " failed: " + entry.getValue());
+            diagnostics.add(diagnostic);
+        }
+        return diagnostics;
+    }
+
+    private static ObjectNode diagnostic(CheckError error, String checkerId, LineTable lines) {
+        SourceRange range = error.getSourceRange();
+        ObjectNode diagnostic = JsonNodeFactory.instance.objectNode();
+        diagnostic.set("range", range != null
+                ? range(lines, range.getLine(), range.getColumn())
+                : range(lines, 0, 0));
+        diagnostic.put("severity", severity(error.getSeverity()));
+        diagnostic.put("source", SOURCE);
+        diagnostic.put("code", error.getRuleId() != null ? error.getRuleId() : checkerId);
+        diagnostic.put("message", error.getMessage());
+        return diagnostic;
+    }
+
+    private static ObjectNode range(LineTable lines, int line, int column) {
+        int endColumn = column;
+        if (line < lines.lineCount()) {
+            endColumn = Math.max(column, lines.lineLength(line));
+        }
+        ObjectNode range = JsonNodeFactory.instance.objectNode();
+        range.set("start", position(line, column));
+        range.set("end", position(line, endColumn));
+        return range;
+    }
+
+    private static ObjectNode position(int line, int character) {
+        ObjectNode position = JsonNodeFactory.instance.objectNode();
+        position.put("line", line);
+        position.put("character", character);
+        return position;
+    }
+
+    private static int severity(CheckError.Severity severity) {
+        if (severity == null) {
+            return 1;
+        }
+        switch (severity) {
+            case WARNING:
+                return 2;
+            case INFO:
+                return 3;
+            default:
+                return 1;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.code.checker.checker.markdown.lsp;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * JSON-RPC 2.0 messages framed with {@code Content-Length} headers, as used
+ * by the Language Server Protocol over stdio.
+ * <p>
+ * Messages are read by one thread; {@link #send} may be called from any thread.
+ */
+class JsonRpcConnection {
+
+    private static final String CONTENT_LENGTH = "content-length:";
+
+    private final InputStream in;
+
+    private final OutputStream out;
+
+    private final ObjectMapper mapper;
+
+    JsonRpcConnection(InputStream in, OutputStream out, ObjectMapper mapper) {
+        this.in = in;
+        this.out = out;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Reads the next message.
+     *
+     * @return the message, or null at the end of the input
+     * @throws JsonProcessingException if the body is not valid JSON or the
+     *                                 {@code Content-Length} header is not a length
+     * @throws IOException             if the input ends inside a message
+     */
+    JsonNode read() throws IOException {
+        int length = -1;
+        String invalidLength = null;
+        while (true) {
+            String header = readHeaderLine();
+            if (header == null) {
+                if (length < 0 && invalidLength == null) {
+                    return null;
+                }
+                throw new EOFException("Input ended inside message headers");
+            }
+            if (header.isEmpty()) {
+                if (invalidLength != null) {
+                    // The body cannot be skipped without its length; it is read as headers next
+                    throw new JsonParseException(null, "Invalid Content-Length header: " + invalidLength);
+                }
+                if (length >= 0) {
+                    break;
+                }
+                continue;
+            }
+            if (header.toLowerCase(Locale.ROOT).startsWith(CONTENT_LENGTH)) {
+                String value = header.substring(CONTENT_LENGTH.length()).trim();
+                try {
+                    length = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    length = -1;
+                }
+                invalidLength = length < 0 ? value : null;
+            }
+        }
+
+        byte[] body = in.readNBytes(length);
+        if (body.length < length) {
+            throw new EOFException("Input ended inside a message body");
+        }
+        return mapper.readTree(body);
+    }
+
+    /**
+     * Reads one header line without its terminator, or null at the end of the input.
+     */
+    private String readHeaderLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Writes one message.
+     */
+    synchronized void send(ObjectNode message) throws IOException {
+        message.put("jsonrpc", "2.0");
+        byte[] body = mapper.writeValueAsBytes(message);
+        out.write(("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(body);
+        out.flush();
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.code.checker.checker.markdown.lsp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Language server that checks open markdown documents and publishes the
+ * errors as diagnostics.
+ * <p>
+ * Supported messages: {@code initialize}, {@code initialized},
+ * {@code shutdown}, {@code exit} and {@code textDocument/didOpen},
+ * {@code didChange} (full and incremental sync) and {@code didClose}.
+ * <p>
+ * Each open document keeps a {@code DocumentSession}, so an edit only
+ * re-parses and re-checks what it can affect. Checks run on a worker pool
+ * after the document has not changed for the debounce delay; a run for a
+ * version that was superseded stops between checkers and publishes nothing.
+ * Only the most recently used documents keep their session; older ones
+ * keep just their text and are re-parsed when they change again.
+ */
+public class LanguageServer {
+
+    private static final int PARSE_ERROR = -32700;
+    private static final int INVALID_REQUEST = -32600;
+    private static final int METHOD_NOT_FOUND = -32601;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final JsonRpcConnection connection;
+
+    private final long debounceMillis;
+
+    private final int maxWarmDocuments;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Open documents by URI, least recently used first.
+     * Only accessed by the message thread.
+     */
+    private final Map<String, OpenDocument> documents = new LinkedHashMap<>(16, 0.75f, true);
+
+    private boolean shutdownRequested;
+
+    /**
+     * @param in               client to server stream
+     * @param out              server to client stream
+     * @param debounceMillis   quiet time after a change before a document is checked
+     * @param maxWarmDocuments number of documents that keep their parsed tree and checkers
+     * @param workers          number of threads running checks
+     */
+    public LanguageServer(InputStream in, OutputStream out, long debounceMillis, int maxWarmDocuments,
+                          int workers) {
+        if (maxWarmDocuments < 1 || workers < 1) {
+            throw new IllegalArgumentException("maxWarmDocuments and workers must be positive");
+        }
+        this.connection = new JsonRpcConnection(in, out, mapper);
+        this.debounceMillis = debounceMillis;
+        this.maxWarmDocuments = maxWarmDocuments;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, "lsp-check-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Processes messages until {@code exit} or the end of the input.
+     *
+     * @return the process exit code: 0 if {@code shutdown} was requested before exiting
+     */
+    public int run() throws IOException {
+        try {
+            while (true) {
+                JsonNode message;
+                try {
+                    message = connection.read();
+                } catch (JsonProcessingException e) {
+                    sendError(null, PARSE_ERROR, e.getOriginalMessage());
+                    continue;
+                }
+                if (message == null) {
+                    return 1;
+                }
+                String method = message.path("method").asText(null);
+                if ("exit".equals(method)) {
+                    return shutdownRequested ? 0 : 1;
+                }
+                handle(method, message);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(String method, JsonNode message) throws IOException {
+        JsonNode id = message.get("id");
+        JsonNode params = message.path("params");
+        if (method == null) {
+            // Responses to server requests are not used
+            if (id == null) {
+                sendError(null, INVALID_REQUEST, "Missing method");
+            }
+            return;
+        }
+
+        switch (method) {
+            case "initialize":
+                sendResult(id, capabilities());
+                break;
+            case "shutdown":
+                shutdownRequested = true;
+                for (OpenDocument document : documents.values()) {
+                    document.cancelScheduled();
+                }
+                sendResult(id, null);
+                break;
+            case "textDocument/didOpen":
+                didOpen(params.path("textDocument"));
+                break;
+            case "textDocument/didChange":
+                didChange(params);
+                break;
+            case "textDocument/didClose":
+                didClose(params.path("textDocument").path("uri").asText());
+                break;
+            default:
+                if (id != null) {
+                    sendError(id, METHOD_NOT_FOUND, "Unsupported method: " + method);
+                }
+                // Other notifications, e.g. initialized or $/cancelRequest, need no action
+        }
+    }
+
+    private ObjectNode capabilities() {
+        ObjectNode sync = mapper.createObjectNode();
+        sync.put("openClose", true);
+        // Incremental
+        sync.put("change", 2);
+
+        ObjectNode capabilities = mapper.createObjectNode();
+        capabilities.set("textDocumentSync", sync);
+
+        ObjectNode serverInfo = mapper.createObjectNode();
+        serverInfo.put("name", "code-checker");
+
+        ObjectNode result = mapper.createObjectNode();
+        result.set("capabilities", capabilities);
+        result.set("serverInfo", serverInfo);
+        return result;
+    }
+
+    private void didOpen(JsonNode textDocument) {
+        String uri = textDocument.path("uri").asText();
+        OpenDocument previous = documents.remove(uri);
+        if (previous != null) {
+            previous.cancelScheduled();
+            previous.evict();
+        }
+        OpenDocument document = new OpenDocument(uri, fileIdOf(uri),
+                textDocument.path("text").asText(""), textDocument.path("version").asInt());
+        documents.put(uri, document);
+        schedule(document, 0);
+    }
+
+    private void didChange(JsonNode params) {
+        JsonNode textDocument = params.path("textDocument");
+        OpenDocument document = documents.get(textDocument.path("uri").asText());
+        if (document == null) {
+            return;
+        }
+        document.change(textDocument.path("version").asInt(), params.path("contentChanges"));
+        schedule(document, debounceMillis);
+    }
+
+    private void didClose(String uri) throws IOException {
+        OpenDocument document = documents.remove(uri);
+        if (document == null) {
+            return;
+        }
+        document.cancelScheduled();
+        document.evict();
+
+        ObjectNode params = mapper.createObjectNode();
+        params.put("uri", uri);
+        params.set("diagnostics", mapper.createArrayNode());
+        publish(params);
+    }
+
+    private void schedule(OpenDocument document, long delayMillis) {
+        document.schedule(executor.schedule(() -> check(document), delayMillis, TimeUnit.MILLISECONDS));
+        evictLeastRecentlyUsed();
+    }
+
+    /**
+     * Drops the sessions of all but the most recently used documents.
+     */
+    private void evictLeastRecentlyUsed() {
+        int excess = documents.size() - maxWarmDocuments;
+        Iterator<OpenDocument> iterator = documents.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            OpenDocument document = iterator.next();
+            if (document.isWarm()) {
+                document.evict();
+            }
+            excess--;
+        }
+    }
+
+    private void check(OpenDocument document) {
+        try {
+            ObjectNode params = document.check();
+            if (params != null) {
+                publish(params);
+            }
+        } catch (IOException e) {
+            // The client is gone; the message thread sees the end of the input
+        } catch (RuntimeException e) {
+            System.err.println("Failed to check " + document.getUri() + ": " + e);
+        }
+    }
+
+    private void publish(ObjectNode params) throws IOException {
+        ObjectNode notification = mapper.createObjectNode();
+        notification.put("method", "textDocument/publishDiagnostics");
+        notification.set("params", params);
+        connection.send(notification);
+    }
+
+    private void sendResult(JsonNode id, JsonNode result) throws IOException {
+        ObjectNode response = mapper.createObjectNode();
+        response.set("id", id);
+        response.set("result", result != null ? result : mapper.nullNode());
+        connection.send(response);
+    }
+
+    private void sendError(JsonNode id, int code, String message) throws IOException {
+        ObjectNode error = mapper.createObjectNode();
+        error.put("code", code);
+        error.put("message", message);
+
+        ObjectNode response = mapper.createObjectNode();
+        response.set("id", id != null ? id : mapper.nullNode());
+        response.set("error", error);
+        connection.send(response);
+    }
+
+    /**
+     * Uses the file path of {@code file:} URIs in error messages, like the
+     * command line checkers do.
+     */
+    private static String fileIdOf(String uri) {
+        try {
+            URI parsed = URI.create(uri);
+            if ("file".equalsIgnoreCase(parsed.getScheme())) {
+                return Paths.get(parsed).toString();
+            }
+        } catch (RuntimeException e) {
+            // Not a valid file URI, keep it as it is
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.code.checker.checker.markdown.lsp;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Command line entry point that runs the {@link LanguageServer} over stdio.
+ * <p>
+ * Usage: {@code LspMain [--debounce <ms>] [--max-documents <n>] [--workers <n>]}
+ * <p>
+ * Standard output carries protocol messages only; anything else printed to
+ * {@code System.out} is redirected to standard error.
+ */
+public class LspMain {
+
+    private static final String USAGE =
+            "Usage: LspMain [--debounce <ms>] [--max-documents <n>] [--workers <n>]";
+
+    public static void main(String[] args) throws IOException {
+        long debounceMillis = 200;
+        int maxDocuments = 32;
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        if (args != null) {
+            for (int i = 0; i < args.length; i++) {
+                if ("--debounce".equals(args[i]) && i + 1 < args.length) {
+                    debounceMillis = Long.parseLong(args[++i]);
+                } else if ("--max-documents".equals(args[i]) && i + 1 < args.length) {
+                    maxDocuments = Integer.parseInt(args[++i]);
+                } else if ("--workers".equals(args[i]) && i + 1 < args.length) {
+                    workers = Integer.parseInt(args[++i]);
+                } else {
+                    System.err.println(USAGE);
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        OutputStream protocolOut = new FileOutputStream(FileDescriptor.out);
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+
+        LanguageServer server = new LanguageServer(System.in, protocolOut, debounceMillis, maxDocuments, workers);
+        System.exit(server.run());
+    }
+}
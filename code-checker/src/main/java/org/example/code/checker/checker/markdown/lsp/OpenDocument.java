@@ -0,0 +1,209 @@
+package org.example.code.checker.checker.markdown.lsp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.code.checker.checker.markdown.parser.TextEdit;
+import org.example.code.checker.checker.markdown.parser.ast.LineTable;
+import org.example.code.checker.checker.markdown.session.DocumentSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A document opened by the client.
+ * <p>
+ * The text and version are updated by the message thread as changes
+ * arrive; the changes are queued as {@link TextEdit}s and applied to the
+ * {@link DocumentSession} by the next check run on a worker thread. The
+ * session holds the parsed document and warm checker instances. It can be
+ * evicted to save memory and is rebuilt from the text when needed.
+ */
+class OpenDocument {
+
+    private final String uri;
+
+    private final String fileId;
+
+    // Guarded by this
+    private String text;
+    private int version;
+    private final List<TextEdit> pending = new ArrayList<>();
+    private boolean replaced;
+    private boolean evictRequested;
+    private Future<?> scheduled;
+
+    // Guarded by sessionLock
+    private final ReentrantLock sessionLock = new ReentrantLock();
+    private volatile DocumentSession session;
+
+    OpenDocument(String uri, String fileId, String text, int version) {
+        this.uri = uri;
+        this.fileId = fileId;
+        this.text = text;
+        this.version = version;
+        this.replaced = true;
+    }
+
+    String getUri() {
+        return uri;
+    }
+
+    synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies the {@code contentChanges} of a {@code textDocument/didChange}
+     * notification, in order.
+     */
+    synchronized void change(int newVersion, JsonNode contentChanges) {
+        for (JsonNode change : contentChanges) {
+            JsonNode range = change.get("range");
+            String newText = change.path("text").asText("");
+            if (range == null || range.isNull()) {
+                text = newText;
+                pending.clear();
+                replaced = true;
+                continue;
+            }
+            LineTable lines = LineTable.build(text);
+            int start = offsetAt(lines, range.path("start"));
+            int end = Math.max(start, offsetAt(lines, range.path("end")));
+            TextEdit edit = new TextEdit(start, end - start, newText);
+            text = edit.apply(text);
+            if (!replaced) {
+                pending.add(edit);
+            }
+        }
+        version = newVersion;
+    }
+
+    /**
+     * Converts an LSP position to an offset in the text. Characters are
+     * UTF-16 code units, like Java string indexes; positions past the end of
+     * a line or of the text are clamped.
+     */
+    private int offsetAt(LineTable lines, JsonNode position) {
+        int line = position.path("line").asInt(0);
+        int character = Math.max(0, position.path("character").asInt(0));
+        if (line >= lines.lineCount()) {
+            return text.length();
+        }
+        return lines.lineStart(line) + Math.min(character, lines.lineLength(line));
+    }
+
+    /**
+     * Replaces the pending check run, cancelling it if it has not started.
+     */
+    synchronized void schedule(Future<?> run) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = run;
+    }
+
+    /**
+     * Cancels a check run that has not started.
+     */
+    synchronized void cancelScheduled() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    /**
+     * Brings the session up to date with the text and runs the affected checkers.
+     *
+     * @return {@code textDocument/publishDiagnostics} parameters for the
+     * checked version, or null if a newer version arrived before the run finished
+     */
+    ObjectNode check() {
+        sessionLock.lock();
+        try {
+            int runVersion;
+            List<TextEdit> edits;
+            String fullText = null;
+            synchronized (this) {
+                runVersion = version;
+                edits = new ArrayList<>(pending);
+                pending.clear();
+                if (replaced || session == null) {
+                    fullText = text;
+                    replaced = false;
+                    edits.clear();
+                }
+                evictRequested = false;
+            }
+
+            try {
+                if (fullText != null) {
+                    session = new DocumentSession(fileId, fullText);
+                } else {
+                    for (TextEdit edit : edits) {
+                        session.update(edit);
+                    }
+                    // Superseded runs stop between checkers; the next run finishes the rest
+                    session.check(() -> getVersion() != runVersion);
+                }
+            } catch (RuntimeException | Error e) {
+                // The session may have missed some of the edits
+                dropSession();
+                throw e;
+            }
+
+            ObjectNode params = null;
+            if (session.isChecked() && getVersion() == runVersion) {
+                params = JsonNodeFactory.instance.objectNode();
+                params.put("uri", uri);
+                params.put("version", runVersion);
+                params.set("diagnostics", Diagnostics.of(session));
+            }
+            synchronized (this) {
+                if (evictRequested) {
+                    dropSession();
+                }
+            }
+            return params;
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    /**
+     * Releases the parsed document and checkers. A running check releases
+     * them when it finishes.
+     */
+    void evict() {
+        if (sessionLock.tryLock()) {
+            try {
+                dropSession();
+            } finally {
+                sessionLock.unlock();
+            }
+        } else {
+            synchronized (this) {
+                evictRequested = true;
+            }
+        }
+    }
+
+    boolean isWarm() {
+        return session != null;
+    }
+
+    private void dropSession() {
+        if (session == null) {
+            return;
+        }
+        session = null;
+        synchronized (this) {
+            // The next run parses the current text from scratch
+            pending.clear();
+            replaced = true;
+        }
+    }
+}
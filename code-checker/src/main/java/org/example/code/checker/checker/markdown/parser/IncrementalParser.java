@@ -0,0 +1,635 @@
+package org.example.code.checker.checker.markdown.parser;
+
+import org.commonmark.node.BulletList;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.LinkReferenceDefinition;
+import org.commonmark.node.Node;
+import org.commonmark.node.OrderedList;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
+import org.example.code.checker.checker.markdown.parser.ast.NodeIdAllocator;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+import org.example.code.checker.checker.markdown.parser.ast.SourceSlice;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Re-parses a document after a text edit, parsing only the blocks the edit
+ * can have affected.
+ * <p>
+ * The edited range is widened to the nearest boundaries where CommonMark
+ * block parsing is known to restart from scratch:
+ * <ul>
+ *     <li>inside a top-level list, the start lines of its items;</li>
+ *     <li>otherwise, blank lines between top-level blocks that cannot
+ *     continue across a blank line (not lists, indented code, unclosed
+ *     fences or HTML blocks that run to an end marker).</li>
+ * </ul>
+ * Only that text is parsed again. Blocks before it are reused as they are,
+ * blocks after it are reused with shifted source ranges. Whenever the edit
+ * could change the result outside of the widened range (front matter, link
+ * reference definitions, unclosed fences, list type changes, ...) the whole
+ * document is parsed with {@link MdAstGenerator#generate} instead.
+ * <p>
+ * The previous tree is consumed: its subtrees are moved into the new tree and
+ * must not be used through the old root afterwards. Newly parsed nodes get
+ * ids above all ids of the previous tree, so ids stay unique but are no
+ * longer in document order.
+ */
+public final class IncrementalParser {
+
+    /**
+     * Elements whose HTML blocks run to their end tag, across blank lines.
+     */
+    private static final String[] RAW_TEXT_TAGS = {"script", "pre", "style", "textarea"};
+
+    private IncrementalParser() {
+    }
+
+    /**
+     * Applies an edit to a document parsed by {@link MdAstGenerator#generate}
+     * or by a previous call of this method.
+     *
+     * @param previous document before the edit
+     * @param edit     the text edit
+     * @param fileId   file id of the document
+     * @return the new document and the range that was parsed again
+     */
+    public static ReparseResult reparse(TreeNode<MdAstNode> previous, TextEdit edit, String fileId) {
+        MdAstNode rootData = previous.getData();
+        String oldRaw = rootData.getRawStr();
+        String newRaw = edit.apply(oldRaw);
+        int lineDelta = countLines(edit.getText(), 0, edit.getText().length())
+                - countLines(oldRaw, edit.getOffset(), edit.getEnd());
+
+        ReparseResult result = null;
+        Context context = Context.create(previous, oldRaw, newRaw, edit, lineDelta);
+        if (context != null) {
+            result = reparseListItems(context);
+            if (result == null) {
+                result = reparseBlocks(context);
+            }
+        }
+        if (result != null) {
+            return result;
+        }
+
+        TreeNode<MdAstNode> document = MdAstGenerator.generate(newRaw, fileId);
+        return new ReparseResult(document, true, 0, newRaw.length(), lineDelta, true,
+                new ArrayList<>(document.getChildren()));
+    }
+
+    /**
+     * State shared by both strategies.
+     */
+    private static final class Context {
+        final TreeNode<MdAstNode> previous;
+        final String oldRaw;
+        final String newRaw;
+        final TextEdit edit;
+        final int lineDelta;
+        final int bodyStart;
+        final TreeNode<MdAstNode> frontMatter;
+        final List<TreeNode<MdAstNode>> blocks;
+
+        private Context(TreeNode<MdAstNode> previous, String oldRaw, String newRaw, TextEdit edit, int lineDelta,
+                        int bodyStart, TreeNode<MdAstNode> frontMatter, List<TreeNode<MdAstNode>> blocks) {
+            this.previous = previous;
+            this.oldRaw = oldRaw;
+            this.newRaw = newRaw;
+            this.edit = edit;
+            this.lineDelta = lineDelta;
+            this.bodyStart = bodyStart;
+            this.frontMatter = frontMatter;
+            this.blocks = blocks;
+        }
+
+        /**
+         * Returns null when the document can only be parsed as a whole.
+         */
+        static Context create(TreeNode<MdAstNode> previous, String oldRaw, String newRaw,
+                              TextEdit edit, int lineDelta) {
+            MdAstNode rootData = previous.getData();
+            String body = rootData.getText();
+            if (body == null || !oldRaw.endsWith(body)) {
+                return null;
+            }
+            int bodyStart = oldRaw.length() - body.length();
+
+            List<TreeNode<MdAstNode>> children = previous.getChildren();
+            TreeNode<MdAstNode> frontMatter = null;
+            if (!children.isEmpty() && typeOf(children.get(0)) == MdNodeType.FRONT_MATTER) {
+                frontMatter = children.get(0);
+                // Whitespace after the closing fence belongs to the front matter match
+                int contentStart = bodyStart;
+                while (contentStart < oldRaw.length() && Character.isWhitespace(oldRaw.charAt(contentStart))) {
+                    contentStart++;
+                }
+                if (edit.getOffset() <= contentStart) {
+                    return null;
+                }
+            } else if (bodyStart != 0) {
+                return null;
+            }
+
+            // Link reference definitions change inline parsing everywhere
+            for (TreeNode<MdAstNode> node : DocumentIndex.of(previous).nodesOfType(MdNodeType.CUSTOM)) {
+                if (node.getData().getCommonMarkNode() instanceof LinkReferenceDefinition) {
+                    return null;
+                }
+            }
+
+            List<TreeNode<MdAstNode>> blocks = children.subList(frontMatter != null ? 1 : 0, children.size());
+            if (blocks.isEmpty()) {
+                return null;
+            }
+            for (TreeNode<MdAstNode> block : blocks) {
+                if (block.getData() == null || block.getData().getSourceRange() == null) {
+                    return null;
+                }
+            }
+            return new Context(previous, oldRaw, newRaw, edit, lineDelta, bodyStart, frontMatter, blocks);
+        }
+    }
+
+    /**
+     * Re-parses the items of a top-level list that contains the whole edit.
+     */
+    private static ReparseResult reparseListItems(Context context) {
+        TextEdit edit = context.edit;
+        int listIndex = -1;
+        for (int i = 0; i < context.blocks.size(); i++) {
+            TreeNode<MdAstNode> block = context.blocks.get(i);
+            if (lineStart(block) <= edit.getOffset() && edit.getEnd() <= end(block)) {
+                listIndex = i;
+                break;
+            }
+        }
+        if (listIndex < 0) {
+            return null;
+        }
+        TreeNode<MdAstNode> list = context.blocks.get(listIndex);
+        if (typeOf(list) != MdNodeType.LIST || column(list) != 0) {
+            return null;
+        }
+
+        // First item starting at or before the edit, first item starting after it
+        List<TreeNode<MdAstNode>> items = list.getChildren();
+        int first = -1;
+        int next = -1;
+        for (int i = 0; i < items.size(); i++) {
+            TreeNode<MdAstNode> item = items.get(i);
+            if (item.getData() == null || item.getData().getSourceRange() == null || column(item) != 0) {
+                continue;
+            }
+            if (lineStart(item) <= edit.getOffset()) {
+                first = i;
+            } else if (first >= 0 && lineStart(item) > edit.getEnd()) {
+                next = i;
+                break;
+            }
+        }
+        // An edit on an item's marker line may turn it into a continuation of the item before
+        if (first >= 0 && context.oldRaw.indexOf('\n', lineStart(items.get(first))) >= edit.getOffset()) {
+            first = previousItem(items, first);
+        }
+        if (first < 0 || next < 0) {
+            return null;
+        }
+
+        int regionStart = lineStart(items.get(first));
+        int regionEnd = lineStart(items.get(next));
+        String region = regionText(context, regionStart, regionEnd);
+        if (region == null) {
+            return null;
+        }
+
+        NodeIdAllocator idAllocator = new NodeIdAllocator(maxNodeId(context.previous) + 1);
+        TreeNode<MdAstNode> parsed = MdAstGenerator.generateMarkdownContentAst(
+                region, lineOf(items.get(first)), regionStart, idAllocator);
+
+        // The items must still form one list of the same kind, starting at column 0
+        if (parsed.getChildren().size() != 1) {
+            return null;
+        }
+        TreeNode<MdAstNode> parsedList = parsed.getChildren().get(0);
+        if (typeOf(parsedList) != MdNodeType.LIST
+                || !sameListKind(list.getData().getCommonMarkNode(), parsedList.getData().getCommonMarkNode())) {
+            return null;
+        }
+        List<TreeNode<MdAstNode>> newItems = new ArrayList<>(parsedList.getChildren());
+        for (TreeNode<MdAstNode> item : newItems) {
+            if (column(item) != 0) {
+                return null;
+            }
+        }
+        if (containsLinkReferenceDefinition(newItems)) {
+            return null;
+        }
+
+        int delta = context.edit.getLengthDelta();
+        List<TreeNode<MdAstNode>> removed = items.subList(first, next);
+        boolean headingsChanged = containsType(removed, MdNodeType.HEADING)
+                || containsType(newItems, MdNodeType.HEADING);
+
+        // Copy of the list node around the spliced items
+        MdAstNode oldListData = list.getData();
+        SourceRange oldListRange = oldListData.getSourceRange();
+        MdAstNode listData = copyOf(oldListData);
+        SourceRange listRange = new SourceRange(oldListRange.getLine(), oldListRange.getColumn(),
+                oldListRange.getInputIndex(), oldListRange.getLength() + delta);
+        listData.setSourceRange(listRange);
+        listData.setRawSlice(new SourceSlice(context.newRaw, listRange.getInputIndex(), listRange.getLength()));
+        TreeNode<MdAstNode> newList = new TreeNode<>();
+        newList.setData(listData);
+        newList.setDepth(list.getDepth());
+
+        List<TreeNode<MdAstNode>> listChildren = new ArrayList<>(items.size() - removed.size() + newItems.size());
+        listChildren.addAll(items.subList(0, first));
+        listChildren.addAll(newItems);
+        for (TreeNode<MdAstNode> item : items.subList(next, items.size())) {
+            shift(item, delta, context.lineDelta, context.newRaw);
+            listChildren.add(item);
+        }
+        for (TreeNode<MdAstNode> child : listChildren) {
+            newList.addChild(child);
+        }
+
+        List<TreeNode<MdAstNode>> topLevel = new ArrayList<>(context.blocks.size());
+        topLevel.addAll(context.blocks.subList(0, listIndex));
+        topLevel.add(newList);
+        for (TreeNode<MdAstNode> block : context.blocks.subList(listIndex + 1, context.blocks.size())) {
+            shift(block, delta, context.lineDelta, context.newRaw);
+            topLevel.add(block);
+        }
+
+        TreeNode<MdAstNode> document = assemble(context, topLevel);
+        return new ReparseResult(document, false, regionStart, regionEnd + delta,
+                context.lineDelta, headingsChanged, newItems);
+    }
+
+    private static int previousItem(List<TreeNode<MdAstNode>> items, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            TreeNode<MdAstNode> item = items.get(i);
+            if (item.getData() != null && item.getData().getSourceRange() != null && column(item) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Re-parses the top-level blocks between two safe blank-line boundaries.
+     */
+    private static ReparseResult reparseBlocks(Context context) {
+        TextEdit edit = context.edit;
+        List<TreeNode<MdAstNode>> blocks = context.blocks;
+        int count = blocks.size();
+
+        // Last block that ends before the edit and is followed by a safe boundary
+        int before = -1;
+        for (int i = 0; i < count && end(blocks.get(i)) < edit.getOffset(); i++) {
+            before = i;
+        }
+        while (before >= 0 && !safeAfter(context, before)) {
+            before--;
+        }
+
+        // First block that starts after the edit behind a safe boundary
+        int after = count;
+        for (int i = before + 1; i < count; i++) {
+            if (lineStart(blocks.get(i)) > edit.getEnd()) {
+                after = i;
+                break;
+            }
+        }
+        while (after < count && !safeBefore(context, after)) {
+            after++;
+        }
+
+        int regionStart = before >= 0 ? end(blocks.get(before)) : context.bodyStart;
+        int regionEnd = after < count ? lineStart(blocks.get(after)) : context.oldRaw.length();
+        if (before < 0 && after >= count) {
+            return null;
+        }
+        String region = regionText(context, regionStart, regionEnd);
+        if (region == null) {
+            return null;
+        }
+
+        int baseLine = countLines(context.oldRaw, 0, regionStart);
+        NodeIdAllocator idAllocator = new NodeIdAllocator(maxNodeId(context.previous) + 1);
+        TreeNode<MdAstNode> parsed = MdAstGenerator.generateMarkdownContentAst(
+                region, baseLine, regionStart, idAllocator);
+        List<TreeNode<MdAstNode>> newBlocks = new ArrayList<>(parsed.getChildren());
+        if (containsLinkReferenceDefinition(newBlocks)) {
+            return null;
+        }
+
+        if (after < count && !newBlocks.isEmpty()
+                && !endsBefore(context, newBlocks.get(newBlocks.size() - 1), blocks.get(after))) {
+            return null;
+        }
+
+        int delta = edit.getLengthDelta();
+        List<TreeNode<MdAstNode>> removed = blocks.subList(before + 1, after);
+        boolean headingsChanged = containsType(removed, MdNodeType.HEADING)
+                || containsType(newBlocks, MdNodeType.HEADING);
+
+        List<TreeNode<MdAstNode>> topLevel = new ArrayList<>(count - removed.size() + newBlocks.size());
+        topLevel.addAll(blocks.subList(0, before + 1));
+        topLevel.addAll(newBlocks);
+        for (TreeNode<MdAstNode> block : blocks.subList(after, count)) {
+            shift(block, delta, context.lineDelta, context.newRaw);
+            topLevel.add(block);
+        }
+
+        TreeNode<MdAstNode> document = assemble(context, topLevel);
+        return new ReparseResult(document, false, regionStart, regionEnd + delta,
+                context.lineDelta, headingsChanged, newBlocks);
+    }
+
+    /**
+     * Whether parsing may restart right after the given block: it cannot
+     * continue across a blank line and a blank line follows it before the edit.
+     */
+    private static boolean safeAfter(Context context, int index) {
+        TreeNode<MdAstNode> block = context.blocks.get(index);
+        if (!restartsAfterBlankLine(block)) {
+            return false;
+        }
+        int limit = context.edit.getOffset();
+        if (index + 1 < context.blocks.size()) {
+            limit = Math.min(limit, lineStart(context.blocks.get(index + 1)));
+        }
+        return blankLineStart(context.oldRaw, end(block), limit) >= 0;
+    }
+
+    /**
+     * Whether parsing may restart at the given block: its first line does not
+     * start with whitespace, so a list or indented code before it cannot
+     * continue into it, it cannot join the preceding content, and an
+     * untouched blank line separates it from the block before.
+     */
+    private static boolean safeBefore(Context context, int index) {
+        TreeNode<MdAstNode> block = context.blocks.get(index);
+        int lineStart = lineStart(block);
+        if (column(block) != 0 || !restartsAfterBlankLine(block)
+                || Character.isWhitespace(context.oldRaw.charAt(lineStart))) {
+            return false;
+        }
+        int from = context.edit.getEnd();
+        if (index > 0) {
+            from = Math.max(from, end(context.blocks.get(index - 1)));
+        }
+        return blankLineStart(context.oldRaw, from, lineStart) >= 0;
+    }
+
+    /**
+     * Whether a newly parsed block ends before the next reused block. Lists
+     * and indented code only continue into lines that start with whitespace;
+     * HTML blocks and unclosed fences may swallow the blank line and the
+     * block after it.
+     */
+    private static boolean endsBefore(Context context, TreeNode<MdAstNode> last, TreeNode<MdAstNode> next) {
+        if (restartsAfterBlankLine(last)) {
+            return true;
+        }
+        boolean continuesIndented = typeOf(last) == MdNodeType.LIST
+                || last.getData().getCommonMarkNode() instanceof IndentedCodeBlock;
+        return continuesIndented && !Character.isWhitespace(context.oldRaw.charAt(lineStart(next)));
+    }
+
+    private static boolean restartsAfterBlankLine(TreeNode<MdAstNode> block) {
+        MdNodeType type = typeOf(block);
+        if (type == MdNodeType.LIST || type == MdNodeType.CUSTOM) {
+            return false;
+        }
+        if (type == MdNodeType.HTML_BLOCK) {
+            return endsAtBlankLine(block.getData().getText());
+        }
+        Node node = block.getData().getCommonMarkNode();
+        if (node instanceof FencedCodeBlock) {
+            // An unclosed fence runs to the end of the document
+            return ((FencedCodeBlock) node).getClosingFenceLength() != null;
+        }
+        return !(node instanceof IndentedCodeBlock);
+    }
+
+    /**
+     * Whether an HTML block ends at the first blank line, i.e. it is not a
+     * comment, processing instruction, declaration, CDATA section or raw
+     * text element (CommonMark HTML block types 1 to 5), such as the
+     * {@code <a name="..."></a>} anchors of provider docs.
+     */
+    private static boolean endsAtBlankLine(String html) {
+        if (html == null) {
+            return false;
+        }
+        String start = html.stripLeading().toLowerCase(Locale.ROOT);
+        if (!start.startsWith("<") || start.startsWith("<!") || start.startsWith("<?")) {
+            return false;
+        }
+        for (String tag : RAW_TEXT_TAGS) {
+            if (start.startsWith(tag, 1)) {
+                int next = 1 + tag.length();
+                if (next == start.length() || start.charAt(next) == '>' || Character.isWhitespace(start.charAt(next))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds a line terminator at or after {@code from} that is followed by a
+     * whitespace-only line ending before {@code limit}.
+     *
+     * @return index of the terminator, or -1
+     */
+    private static int blankLineStart(String text, int from, int limit) {
+        for (int i = Math.max(from, 0); i < limit; i++) {
+            if (text.charAt(i) != '\n') {
+                continue;
+            }
+            int j = i + 1;
+            while (j < limit && (text.charAt(j) == ' ' || text.charAt(j) == '\t' || text.charAt(j) == '\r')) {
+                j++;
+            }
+            if (j < limit && text.charAt(j) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the new text of the region [start, end) given in old offsets, or
+     * null if the old or new text could change parsing outside of it.
+     */
+    private static String regionText(Context context, int start, int end) {
+        String oldRegion = context.oldRaw.substring(start, end);
+        String newRegion = context.newRaw.substring(start, end + context.edit.getLengthDelta());
+        for (String text : new String[]{oldRegion, newRegion}) {
+            // Front matter fences and link reference definitions
+            if (text.contains("---") || text.contains("]:")) {
+                return null;
+            }
+        }
+        return newRegion;
+    }
+
+    private static TreeNode<MdAstNode> assemble(Context context, List<TreeNode<MdAstNode>> blocks) {
+        MdAstNode oldRoot = context.previous.getData();
+        MdAstNode rootData = copyOf(oldRoot);
+        rootData.setSourceRange(new SourceRange(0, 0, 0, context.newRaw.length()));
+        rootData.setRawStr(context.newRaw);
+        rootData.setText(context.newRaw.substring(context.bodyStart));
+
+        TreeNode<MdAstNode> root = new TreeNode<>();
+        root.setData(rootData);
+        for (TreeNode<MdAstNode> block : blocks) {
+            root.addChild(block);
+        }
+        // Same layout as MdAstGenerator.generate: front matter prepended without re-indexing
+        if (context.frontMatter != null) {
+            root.getChildren().add(0, context.frontMatter);
+        }
+        rootData.setDocumentIndex(DocumentIndex.build(root));
+        return root;
+    }
+
+    private static MdAstNode copyOf(MdAstNode data) {
+        MdAstNode copy = new MdAstNode(data.getNumericId());
+        copy.setCommonMarkNode(data.getCommonMarkNode());
+        copy.setNodeType(data.getNodeType());
+        copy.setFileId(data.getFileId());
+        copy.setText(data.getText());
+        copy.setSourceRange(data.getSourceRange());
+        copy.setRawSlice(data.getRawSlice());
+        return copy;
+    }
+
+    /**
+     * Moves a reused subtree by the edit and points its slices into the new text.
+     */
+    private static void shift(TreeNode<MdAstNode> subtree, int delta, int lineDelta, String newRaw) {
+        if (delta == 0 && lineDelta == 0) {
+            return;
+        }
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>();
+        stack.push(subtree);
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> node = stack.pop();
+            MdAstNode data = node.getData();
+            SourceRange range = data != null ? data.getSourceRange() : null;
+            if (range != null && range.getLength() > 0) {
+                SourceRange shifted = new SourceRange(range.getLine() + lineDelta, range.getColumn(),
+                        range.getInputIndex() + delta, range.getLength());
+                data.setSourceRange(shifted);
+                data.setRawSlice(new SourceSlice(newRaw, shifted.getInputIndex(), shifted.getLength()));
+            }
+            for (TreeNode<MdAstNode> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    private static boolean containsLinkReferenceDefinition(List<TreeNode<MdAstNode>> subtrees) {
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>(subtrees);
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> node = stack.pop();
+            if (node.getData() != null && node.getData().getCommonMarkNode() instanceof LinkReferenceDefinition) {
+                return true;
+            }
+            for (TreeNode<MdAstNode> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsType(List<TreeNode<MdAstNode>> subtrees, MdNodeType type) {
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>(subtrees);
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> node = stack.pop();
+            if (typeOf(node) == type) {
+                return true;
+            }
+            for (TreeNode<MdAstNode> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return false;
+    }
+
+    private static int maxNodeId(TreeNode<MdAstNode> root) {
+        int max = MdAstNode.UNASSIGNED_ID;
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>(Collections.singletonList(root));
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> node = stack.pop();
+            if (node.getData() != null) {
+                max = Math.max(max, node.getData().getNumericId());
+            }
+            for (TreeNode<MdAstNode> child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return max;
+    }
+
+    private static boolean sameListKind(Node previous, Node parsed) {
+        if (previous instanceof BulletList && parsed instanceof BulletList) {
+            return Objects.equals(((BulletList) previous).getMarker(), ((BulletList) parsed).getMarker());
+        }
+        if (previous instanceof OrderedList && parsed instanceof OrderedList) {
+            return Objects.equals(((OrderedList) previous).getMarkerDelimiter(),
+                    ((OrderedList) parsed).getMarkerDelimiter());
+        }
+        return false;
+    }
+
+    private static MdNodeType typeOf(TreeNode<MdAstNode> node) {
+        return node.getData() != null ? node.getData().getNodeType() : null;
+    }
+
+    private static int end(TreeNode<MdAstNode> node) {
+        SourceRange range = node.getData().getSourceRange();
+        return range.getInputIndex() + range.getLength();
+    }
+
+    private static int column(TreeNode<MdAstNode> node) {
+        return node.getData().getSourceRange().getColumn();
+    }
+
+    private static int lineOf(TreeNode<MdAstNode> node) {
+        return node.getData().getSourceRange().getLine();
+    }
+
+    /**
+     * Gets the offset of the start of the line the node begins on.
+     */
+    private static int lineStart(TreeNode<MdAstNode> node) {
+        SourceRange range = node.getData().getSourceRange();
+        return range.getInputIndex() - range.getColumn();
+    }
+
+    private static int countLines(String text, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
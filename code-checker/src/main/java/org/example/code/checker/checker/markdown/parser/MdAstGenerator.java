@@ -4,15 +4,16 @@ package org.example.code.checker.checker.markdown.parser;
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.node.*;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
+import org.example.code.checker.checker.markdown.parser.ast.NodeIdAllocator;
 import org.commonmark.parser.IncludeSourceSpans;
 import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+import org.example.code.checker.checker.markdown.parser.ast.SourceSlice;
 import org.example.code.checker.checker.utils.TreeNode;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +24,10 @@ public class MdAstGenerator {
             Pattern.MULTILINE);
 
     public static TreeNode<MdAstNode> generateFrontMatterAst(String mdContent) {
+        return generateFrontMatterAst(mdContent, new NodeIdAllocator());
+    }
+
+    public static TreeNode<MdAstNode> generateFrontMatterAst(String mdContent, NodeIdAllocator idAllocator) {
         // 探测是否存在前置元信息
         Matcher matcher = FrontMatterDetector.matcher(mdContent);
         // 不存在则返回null
@@ -30,11 +35,11 @@ public class MdAstGenerator {
             return null;
         }
         // 存在则解析
-        MdAstNode frontMatterNode = new MdAstNode();
+        MdAstNode frontMatterNode = new MdAstNode(idAllocator.next());
         // 设置文本
         String rawText = matcher.group(1);
         frontMatterNode.setNodeType(MdNodeType.FRONT_MATTER);
-        frontMatterNode.setRawStr(rawText);
+        frontMatterNode.setRawSlice(new SourceSlice(mdContent, matcher.start(1), rawText.length()));
         frontMatterNode.setText(rawText);
         // 设置目标偏移
         int line = 0;
@@ -77,7 +82,12 @@ public class MdAstGenerator {
         return MdNodeType.CUSTOM;
     }
 
-    private static TreeNode<MdAstNode> convert(Node node, TreeNode<MdAstNode> parent, int depth, int indexInParent, String fileId, String mdContent) {
+    /**
+     * 将 CommonMark 节点转换为树节点。
+     * baseLine / baseInputIndex 为正文在原始文档中的起始偏移（前置元信息所占的行数与字符数），
+     * 在构建 SourceRange 时直接叠加，无需再次遍历整棵树。
+     */
+    private static TreeNode<MdAstNode> convert(Node node, TreeNode<MdAstNode> parent, int depth, int indexInParent, String fileId, String mdContent, int baseLine, int baseInputIndex, NodeIdAllocator idAllocator) {
         TreeNode<MdAstNode> treeNode = new TreeNode<>();
 
         treeNode.setParent(parent);
@@ -87,7 +97,7 @@ public class MdAstGenerator {
 //        current.setDepth(depth);
 //        current.setIndexInParent(indexInParent);
 
-        MdAstNode data = new MdAstNode();
+        MdAstNode data = new MdAstNode(idAllocator.next());
         data.setCommonMarkNode(node);
         data.setFileId(fileId);
         data.setNodeType(mapType(node));
@@ -122,14 +132,14 @@ public class MdAstGenerator {
             SourceSpan end = spans.get(spansSize-1);
             length = end.getInputIndex() - start.getInputIndex() + end.getLength();
         }
-        data.setSourceRange(new SourceRange(line, column, inputIndex, length));
-        data.setRawStr(mdContent.substring(inputIndex, inputIndex+length));
+        data.setSourceRange(new SourceRange(line + baseLine, column, inputIndex + baseInputIndex, length));
+        data.setRawSlice(new SourceSlice(mdContent, inputIndex, length));
         treeNode.setData(data);
 
         // 遍历子节点
         int childIndex = 0;
         for (Node child = node.getFirstChild(); child != null; child = child.getNext(), childIndex++) {
-            TreeNode<MdAstNode> stdChild = convert(child, treeNode, depth + 1, childIndex, fileId, mdContent);
+            TreeNode<MdAstNode> stdChild = convert(child, treeNode, depth + 1, childIndex, fileId, mdContent, baseLine, baseInputIndex, idAllocator);
             treeNode.addChild(stdChild);
         }
 
@@ -137,6 +147,14 @@ public class MdAstGenerator {
     }
 
     public static TreeNode<MdAstNode> generateMarkdownContentAst(String mdContent) {
+        return generateMarkdownContentAst(mdContent, 0, 0, new NodeIdAllocator());
+    }
+
+    /**
+     * 解析正文，SourceRange 以 baseLine / baseInputIndex 为起点。
+     */
+    public static TreeNode<MdAstNode> generateMarkdownContentAst(String mdContent, int baseLine, int baseInputIndex,
+                                                                 NodeIdAllocator idAllocator) {
         // 1. 创建解析器
         Parser parser = Parser.builder()
                 .includeSourceSpans(IncludeSourceSpans.BLOCKS_AND_INLINES) // 仅块级节点
@@ -144,62 +162,40 @@ public class MdAstGenerator {
         // 2. 解析 AST
         Node root = parser.parse(mdContent);
 
-        return convert(root, null, 0, 0, "", mdContent);
+        return convert(root, null, 0, 0, "", mdContent, baseLine, baseInputIndex, idAllocator);
     }
 
-    private static TreeNode<MdAstNode> combine(TreeNode<MdAstNode> mdContentRoot, TreeNode<MdAstNode> frontMatterNode) throws RuntimeException {
-        if (!MdNodeType.DOCUMENT.equals(mdContentRoot.getData().getNodeType())) {
-            throw new RuntimeException("the root is not document, can not combine.");
-        }
+    public static TreeNode<MdAstNode> generate(String mdContent, String fileId) {
+        String rawMdContent = mdContent;
+        // 节点 id 在单个文档内顺序分配
+        NodeIdAllocator idAllocator = new NodeIdAllocator();
+        TreeNode<MdAstNode> frontMatterNode = generateFrontMatterAst(mdContent, idAllocator);
+        mdContent = removeFrontMatterStr(mdContent);
 
-        // 对除Document的所有节点进行SourceRange累加操作
-        List<TreeNode<MdAstNode>> waitList = new ArrayList<>(List.copyOf(mdContentRoot.getChildren()));
-        SourceRange frontMatterRange = frontMatterNode.getData().getSourceRange();
-        while (!waitList.isEmpty()) {
-            // 记录本次缓冲的数量
-            int length = waitList.size();
-            for (int i=0; i<length; i++) {
-                TreeNode<MdAstNode> astNode = waitList.get(i);
-                MdAstNode data = astNode.getData();
-                SourceRange oldRange = data.getSourceRange();
-                int newLine = oldRange.getLine() + frontMatterRange.getLine();
-                int newColumn = oldRange.getColumn();
-                int newInputIndex = oldRange.getInputIndex() + frontMatterRange.getInputIndex();
-                int newLength = oldRange.getLength();
-                data.setSourceRange(new SourceRange(newLine, newColumn, newInputIndex, newLength));
-
-                // 将孩子节点的孩子加入等待队列中
-                waitList.addAll(astNode.getChildren());
-            }
-            // 将已经进行过累加的节点从缓冲队列中移除
-            waitList.removeIf(new Predicate<TreeNode<MdAstNode>>() {
-                @Override
-                public boolean test(TreeNode<MdAstNode> mdAstNode) {
-                    int index = waitList.indexOf(mdAstNode);
-                    return index != -1 && index < length;
+        // 前置元信息位于文档开头时，正文整体向后平移其所占的字符数与行数
+        int baseInputIndex = 0;
+        int baseLine = 0;
+        int removedLength = rawMdContent.length() - mdContent.length();
+        if (frontMatterNode != null && rawMdContent.startsWith(mdContent, removedLength)) {
+            baseInputIndex = removedLength;
+            for (int i = 0; i < removedLength; i++) {
+                if (rawMdContent.charAt(i) == '\n') {
+                    baseLine++;
                 }
-            });
+            }
         }
 
+        TreeNode<MdAstNode> root = generateMarkdownContentAst(mdContent, baseLine, baseInputIndex, idAllocator);
         // 将 frontMatterNode 设置为第一个孩子节点
-        mdContentRoot.getChildren().add(0, frontMatterNode);
-        // 返回组装好的内容节点
-        return mdContentRoot;
-    }
-
-    public static TreeNode<MdAstNode> generate(String mdContent, String fileId) {
-        String rawMdContent = mdContent;
-        TreeNode<MdAstNode> frontMatterNode = generateFrontMatterAst(mdContent);
-        mdContent = removeFrontMatterStr(mdContent);
-        TreeNode<MdAstNode> mdContentRoot = generateMarkdownContentAst(mdContent);
-        // 处理根节点
-        TreeNode<MdAstNode> root = frontMatterNode != null
-                ? combine(mdContentRoot, frontMatterNode)
-                : mdContentRoot;
+        if (frontMatterNode != null) {
+            root.getChildren().add(0, frontMatterNode);
+        }
         SourceRange rootRange = new SourceRange(0, 0, 0, rawMdContent.length());
         root.getData().setSourceRange(rootRange);
         root.getData().setRawStr(rawMdContent);
         root.getData().setText(mdContent);
+        // 树构建完成后一次性建立索引，供各检查器查询
+        root.getData().setDocumentIndex(DocumentIndex.build(root));
         return root;
     }
 }
\ No newline at end of file
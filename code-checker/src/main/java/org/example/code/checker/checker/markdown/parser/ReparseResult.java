@@ -0,0 +1,87 @@
+package org.example.code.checker.checker.markdown.parser;
+
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link IncrementalParser#reparse}.
+ * <p>
+ * Nodes outside [{@link #getChangedStart()}, {@link #getChangedEnd()}) were
+ * reused from the previous tree; nodes after the range had their source
+ * ranges shifted by the edit.
+ */
+public final class ReparseResult {
+
+    private final TreeNode<MdAstNode> document;
+    private final boolean full;
+    private final int changedStart;
+    private final int changedEnd;
+    private final int lineDelta;
+    private final boolean headingsChanged;
+    private final List<TreeNode<MdAstNode>> changedNodes;
+
+    ReparseResult(TreeNode<MdAstNode> document, boolean full, int changedStart, int changedEnd,
+                  int lineDelta, boolean headingsChanged, List<TreeNode<MdAstNode>> changedNodes) {
+        this.document = document;
+        this.full = full;
+        this.changedStart = changedStart;
+        this.changedEnd = changedEnd;
+        this.lineDelta = lineDelta;
+        this.headingsChanged = headingsChanged;
+        this.changedNodes = Collections.unmodifiableList(changedNodes);
+    }
+
+    /**
+     * Gets the new document tree.
+     */
+    public TreeNode<MdAstNode> getDocument() {
+        return document;
+    }
+
+    /**
+     * Whether the whole document was parsed again.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Gets the start offset of the re-parsed text in the new document.
+     */
+    public int getChangedStart() {
+        return changedStart;
+    }
+
+    /**
+     * Gets the exclusive end offset of the re-parsed text in the new document.
+     */
+    public int getChangedEnd() {
+        return changedEnd;
+    }
+
+    /**
+     * Gets how many lines were added (positive) or removed (negative).
+     */
+    public int getLineDelta() {
+        return lineDelta;
+    }
+
+    /**
+     * Whether a heading was added, removed or edited, so sections may have
+     * moved. Always true for a full parse.
+     */
+    public boolean isHeadingsChanged() {
+        return headingsChanged;
+    }
+
+    /**
+     * Gets the newly parsed nodes that replaced the changed range, in source
+     * order. These are top-level blocks or items of a top-level list.
+     */
+    public List<TreeNode<MdAstNode>> getChangedNodes() {
+        return changedNodes;
+    }
+}
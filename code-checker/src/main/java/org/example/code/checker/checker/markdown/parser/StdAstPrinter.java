@@ -56,7 +56,7 @@ public final class StdAstPrinter {
     private static String buildExtras(TreeNode<MdAstNode> node) {
         MdNodeType type = node.getData().getNodeType();
         if (type == null) return "";
-        String raw = node.getData().getRawStr();
+        CharSequence raw = node.getData().getRawSlice();
         if (raw == null) raw = "";
 
         switch (type) {
@@ -72,21 +72,19 @@ public final class StdAstPrinter {
         }
     }
 
-    private static int detectHeadingLevel(String raw) {
+    private static int detectHeadingLevel(CharSequence raw) {
         if (raw == null) return 0;
-        String line = raw;
-        int nl = raw.indexOf('\n');
-        if (nl >= 0) line = raw.substring(0, nl);
         int i = 0;
-        while (i < line.length() && line.charAt(i) == '#') i++;
+        while (i < raw.length() && raw.charAt(i) == '#') i++;
         return i > 0 ? i : 0;
     }
 
-    private static String detectFencedInfo(String raw) {
+    private static String detectFencedInfo(CharSequence raw) {
         if (raw == null) return "";
-        String line = raw;
-        int nl = raw.indexOf('\n');
-        if (nl >= 0) line = raw.substring(0, nl);
+        // only the first line is materialized
+        int nl = 0;
+        while (nl < raw.length() && raw.charAt(nl) != '\n') nl++;
+        String line = raw.subSequence(0, nl).toString();
         line = line.trim();
         if (!line.startsWith("```") && !line.startsWith("~~~")) return "";
         String after = line.substring(3).trim();
@@ -0,0 +1,84 @@
+package org.example.code.checker.checker.markdown.parser;
+
+/**
+ * A single replacement in a document's text: {@code removedLength} characters
+ * starting at {@code offset} are replaced by {@code text}.
+ */
+public final class TextEdit {
+
+    private final int offset;
+    private final int removedLength;
+    private final String text;
+
+    public TextEdit(int offset, int removedLength, String text) {
+        if (offset < 0 || removedLength < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid edit: offset " + offset + ", removed length " + removedLength);
+        }
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.text = text == null ? "" : text;
+    }
+
+    /**
+     * Creates an insertion at the given offset.
+     */
+    public static TextEdit insert(int offset, String text) {
+        return new TextEdit(offset, 0, text);
+    }
+
+    /**
+     * Creates a deletion of the range [start, end).
+     */
+    public static TextEdit delete(int start, int end) {
+        return new TextEdit(start, end - start, "");
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    /**
+     * Gets the exclusive end of the replaced range in the old text.
+     */
+    public int getEnd() {
+        return offset + removedLength;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets how much the text after the edit moves.
+     */
+    public int getLengthDelta() {
+        return text.length() - removedLength;
+    }
+
+    /**
+     * Applies the edit to the given text.
+     *
+     * @throws IllegalArgumentException if the edit is out of bounds
+     */
+    public String apply(String oldText) {
+        if (getEnd() > oldText.length()) {
+            throw new IllegalArgumentException("Edit [" + offset + ", " + getEnd()
+                    + ") out of bounds for length " + oldText.length());
+        }
+        return new StringBuilder(oldText.length() + getLengthDelta())
+                .append(oldText, 0, offset)
+                .append(text)
+                .append(oldText, getEnd(), oldText.length())
+                .toString();
+    }
+
+    @Override
+    public String toString() {
+        return "TextEdit[" + offset + ", " + getEnd() + ") -> " + text.length() + " chars";
+    }
+}
@@ -0,0 +1,323 @@
+package org.example.code.checker.checker.markdown.parser.ast;
+
+import org.commonmark.node.Heading;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lookup tables over a parsed markdown document, built with one traversal.
+ * <p>
+ * Maps node types, heading levels and normalized heading text to nodes in
+ * document order, and records where each top-level heading's section ends.
+ * The index reflects the tree at the time it was built; it is attached to
+ * the document root by {@code MdAstGenerator.generate}.
+ */
+public final class DocumentIndex {
+
+    private static final int MAX_HEADING_LEVEL = 6;
+
+    private final TreeNode<MdAstNode> document;
+
+    private final Map<MdNodeType, List<TreeNode<MdAstNode>>> nodesByType = new EnumMap<>(MdNodeType.class);
+
+    /**
+     * Pre-order position of each entry of {@link #nodesByType}, to merge the
+     * lists of several types in document order.
+     */
+    private final Map<MdNodeType, int[]> preOrderByType = new EnumMap<>(MdNodeType.class);
+
+    private final List<List<TreeNode<MdAstNode>>> headingsByLevel = new ArrayList<>();
+
+    private final Map<String, List<TreeNode<MdAstNode>>> headingsByText = new HashMap<>();
+
+    private final Map<TreeNode<MdAstNode>, String> headingText = new IdentityHashMap<>();
+
+    private final Map<TreeNode<MdAstNode>, Integer> topLevelPosition = new IdentityHashMap<>();
+
+    /**
+     * For each top-level position holding a heading: exclusive end of its
+     * section when it ends at the next heading of any level.
+     */
+    private final int[] nextHeading;
+
+    /**
+     * For each top-level position holding a heading: exclusive end of its
+     * section when it ends at the next heading of the same level.
+     */
+    private final int[] nextSameLevelHeading;
+
+    private DocumentIndex(TreeNode<MdAstNode> document) {
+        this.document = document;
+        for (int level = 0; level <= MAX_HEADING_LEVEL; level++) {
+            headingsByLevel.add(new ArrayList<>());
+        }
+
+        // Pre-order traversal, same order as TreeNode.Query.all()
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>();
+        stack.push(document);
+        int preOrder = 0;
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> node = stack.pop();
+            index(node, preOrder++);
+            List<TreeNode<MdAstNode>> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        List<TreeNode<MdAstNode>> topLevel = document.getChildren();
+        int size = topLevel.size();
+        nextHeading = new int[size];
+        nextSameLevelHeading = new int[size];
+        int[] nextByLevel = new int[MAX_HEADING_LEVEL + 1];
+        Arrays.fill(nextByLevel, size);
+        int next = size;
+        for (int i = size - 1; i >= 0; i--) {
+            TreeNode<MdAstNode> node = topLevel.get(i);
+            topLevelPosition.put(node, i);
+            nextHeading[i] = next;
+            int level = headingLevel(node);
+            if (level > 0) {
+                nextSameLevelHeading[i] = nextByLevel[level];
+                nextByLevel[level] = i;
+                next = i;
+            } else if (isHeading(node)) {
+                next = i;
+            }
+        }
+    }
+
+    /**
+     * Builds a new index over the given document.
+     */
+    public static DocumentIndex build(TreeNode<MdAstNode> document) {
+        if (document == null) {
+            throw new IllegalArgumentException("document must not be null");
+        }
+        return new DocumentIndex(document);
+    }
+
+    /**
+     * Gets the index attached to the document root, building and attaching
+     * one if the tree was not produced by {@code MdAstGenerator.generate}.
+     */
+    public static DocumentIndex of(TreeNode<MdAstNode> document) {
+        MdAstNode data = document.getData();
+        DocumentIndex index = data != null ? data.getDocumentIndex() : null;
+        if (index == null || index.document != document) {
+            index = build(document);
+            if (data != null) {
+                data.setDocumentIndex(index);
+            }
+        }
+        return index;
+    }
+
+    private void index(TreeNode<MdAstNode> node, int preOrder) {
+        MdAstNode data = node.getData();
+        if (data == null || data.getNodeType() == null) {
+            return;
+        }
+        List<TreeNode<MdAstNode>> nodes = nodesByType.computeIfAbsent(data.getNodeType(), type -> new ArrayList<>());
+        int[] positions = preOrderByType.computeIfAbsent(data.getNodeType(), type -> new int[8]);
+        if (positions.length == nodes.size()) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+            preOrderByType.put(data.getNodeType(), positions);
+        }
+        positions[nodes.size()] = preOrder;
+        nodes.add(node);
+
+        int level = headingLevel(node);
+        if (level > 0) {
+            String text = extractText(node);
+            headingText.put(node, text);
+            headingsByLevel.get(level).add(node);
+            headingsByText.computeIfAbsent(textKey(level, text), key -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * Gets all nodes of the given type in document order.
+     */
+    public List<TreeNode<MdAstNode>> nodesOfType(MdNodeType type) {
+        List<TreeNode<MdAstNode>> nodes = nodesByType.get(type);
+        return nodes != null ? Collections.unmodifiableList(nodes) : Collections.emptyList();
+    }
+
+    /**
+     * Gets all nodes of the given types in document order, without walking
+     * the tree.
+     */
+    public List<TreeNode<MdAstNode>> nodesOfTypes(Set<MdNodeType> types) {
+        List<MdNodeType> present = new ArrayList<>(types.size());
+        int total = 0;
+        for (MdNodeType type : types) {
+            List<TreeNode<MdAstNode>> nodes = nodesByType.get(type);
+            if (nodes != null) {
+                present.add(type);
+                total += nodes.size();
+            }
+        }
+        if (present.size() <= 1) {
+            return present.isEmpty() ? Collections.emptyList() : nodesOfType(present.get(0));
+        }
+
+        // Merge the per-type lists by pre-order position
+        List<TreeNode<MdAstNode>> merged = new ArrayList<>(total);
+        int[] next = new int[present.size()];
+        while (merged.size() < total) {
+            int first = -1;
+            int firstPosition = Integer.MAX_VALUE;
+            for (int i = 0; i < present.size(); i++) {
+                MdNodeType type = present.get(i);
+                if (next[i] < nodesByType.get(type).size() && preOrderByType.get(type)[next[i]] < firstPosition) {
+                    first = i;
+                    firstPosition = preOrderByType.get(type)[next[i]];
+                }
+            }
+            merged.add(nodesByType.get(present.get(first)).get(next[first]++));
+        }
+        return merged;
+    }
+
+    /**
+     * Gets the first node of the given type in document order.
+     */
+    public Optional<TreeNode<MdAstNode>> firstOfType(MdNodeType type) {
+        List<TreeNode<MdAstNode>> nodes = nodesByType.get(type);
+        return nodes == null || nodes.isEmpty() ? Optional.empty() : Optional.of(nodes.get(0));
+    }
+
+    /**
+     * Gets all headings of the given level in document order.
+     */
+    public List<TreeNode<MdAstNode>> headingsOfLevel(int level) {
+        if (level < 1 || level > MAX_HEADING_LEVEL) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(headingsByLevel.get(level));
+    }
+
+    /**
+     * Finds the first heading with the given level and text.
+     *
+     * @param level heading level (1-6)
+     * @param text  heading text, compared trimmed and case-insensitively;
+     *              if null, only the level is matched
+     * @return the first matching heading in document order
+     */
+    public Optional<TreeNode<MdAstNode>> findHeading(int level, String text) {
+        List<TreeNode<MdAstNode>> candidates = text == null
+                ? headingsOfLevel(level)
+                : headingsByText.get(textKey(level, text));
+        return candidates == null || candidates.isEmpty() ? Optional.empty() : Optional.of(candidates.get(0));
+    }
+
+    /**
+     * Gets the trimmed text of a heading (TEXT and CODE children concatenated).
+     */
+    public String headingText(TreeNode<MdAstNode> heading) {
+        return headingText.get(heading);
+    }
+
+    /**
+     * Gets the position of a node in the document root's children, or -1.
+     */
+    public int positionOf(TreeNode<MdAstNode> node) {
+        Integer position = topLevelPosition.get(node);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Gets the section that starts at the given heading: the heading itself
+     * followed by its siblings up to (excluding) the next heading.
+     *
+     * @param heading  the heading starting the section
+     * @param endLevel level of the heading that ends the section;
+     *                 if null, any heading ends it
+     * @return nodes of the section, starting with the heading
+     */
+    public List<TreeNode<MdAstNode>> section(TreeNode<MdAstNode> heading, Integer endLevel) {
+        int position = positionOf(heading);
+        if (position >= 0 && (endLevel == null || endLevel == headingLevel(heading))) {
+            int end = endLevel == null ? nextHeading[position] : nextSameLevelHeading[position];
+            return Collections.unmodifiableList(document.getChildren().subList(position, end));
+        }
+        return scanSection(heading, endLevel);
+    }
+
+    /**
+     * Fallback for nested headings or end levels other than the heading's own.
+     */
+    private static List<TreeNode<MdAstNode>> scanSection(TreeNode<MdAstNode> heading, Integer endLevel) {
+        TreeNode<MdAstNode> parent = heading.getParent();
+        if (parent == null) {
+            return List.of(heading);
+        }
+        List<TreeNode<MdAstNode>> siblings = parent.getChildren();
+        int start = siblings.indexOf(heading);
+        int end = siblings.size();
+        for (int i = start + 1; i < siblings.size(); i++) {
+            TreeNode<MdAstNode> sibling = siblings.get(i);
+            if (isHeading(sibling) && (endLevel == null || headingLevel(sibling) == endLevel)) {
+                end = i;
+                break;
+            }
+        }
+        return Collections.unmodifiableList(siblings.subList(start, end));
+    }
+
+    private static boolean isHeading(TreeNode<MdAstNode> node) {
+        MdAstNode data = node.getData();
+        return data != null && data.getNodeType() == MdNodeType.HEADING;
+    }
+
+    /**
+     * Gets the level of a heading node, or 0 if the node is not a heading.
+     */
+    private static int headingLevel(TreeNode<MdAstNode> node) {
+        if (!isHeading(node) || !(node.getData().getCommonMarkNode() instanceof Heading)) {
+            return 0;
+        }
+        return ((Heading) node.getData().getCommonMarkNode()).getLevel();
+    }
+
+    private static String textKey(int level, String text) {
+        return level + ":" + text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String extractText(TreeNode<MdAstNode> node) {
+        StringBuilder sb = new StringBuilder();
+        Deque<TreeNode<MdAstNode>> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            TreeNode<MdAstNode> current = stack.pop();
+            MdAstNode data = current.getData();
+            if (data == null) {
+                continue;
+            }
+            if ((data.getNodeType() == MdNodeType.TEXT || data.getNodeType() == MdNodeType.CODE)
+                    && data.getText() != null) {
+                sb.append(data.getText());
+            }
+            List<TreeNode<MdAstNode>> children = current.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.code.checker.checker.markdown.parser.ast;
+
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.util.Arrays;
+
+/**
+ * Line layout of a document, computed with a single scan of its text.
+ * <p>
+ * Lines are separated by {@code \n}, {@code \r\n} or a lone {@code \r}; the
+ * terminator is not part of the line. A terminator at the very end of the
+ * text does not start another line. Lines are addressed by 0-based index and
+ * every query is an array lookup, so rules can walk all lines without
+ * allocating.
+ * <p>
+ * For each line the table also records the trailing whitespace run: the
+ * spaces and tabs after the last other character.
+ */
+public final class LineTable {
+
+    private final CharSequence text;
+
+    private final int lineCount;
+
+    /**
+     * Offset of the first character of each line in {@link #text}.
+     */
+    private final int[] starts;
+
+    /**
+     * Length of each line without its terminator.
+     */
+    private final int[] lengths;
+
+    /**
+     * Column where the trailing whitespace run of each line begins;
+     * equal to the line length when there is none.
+     */
+    private final int[] trailingStarts;
+
+    /**
+     * Whether the trailing whitespace run of each line contains a tab.
+     */
+    private final boolean[] trailingTabs;
+
+    private LineTable(CharSequence text) {
+        this.text = text;
+        int length = text.length();
+        int capacity = length / 40 + 16;
+        int[] lineStarts = new int[capacity];
+        int[] lineLengths = new int[capacity];
+        int[] lineTrailingStarts = new int[capacity];
+        boolean[] lineTrailingTabs = new boolean[capacity];
+
+        int count = 0;
+        int start = 0;
+        int contentEnd = 0;
+        boolean tab = false;
+        int i = 0;
+        while (i <= length) {
+            char c = i < length ? text.charAt(i) : '\n';
+            boolean terminator = c == '\n' || c == '\r';
+            if (!terminator) {
+                if (c == '\t') {
+                    tab = true;
+                } else if (c != ' ') {
+                    contentEnd = i + 1;
+                    tab = false;
+                }
+                i++;
+                continue;
+            }
+
+            if (i < length || start < length) {
+                if (count == lineStarts.length) {
+                    int grown = count * 2;
+                    lineStarts = Arrays.copyOf(lineStarts, grown);
+                    lineLengths = Arrays.copyOf(lineLengths, grown);
+                    lineTrailingStarts = Arrays.copyOf(lineTrailingStarts, grown);
+                    lineTrailingTabs = Arrays.copyOf(lineTrailingTabs, grown);
+                }
+                lineStarts[count] = start;
+                lineLengths[count] = i - start;
+                lineTrailingStarts[count] = Math.max(contentEnd, start) - start;
+                lineTrailingTabs[count] = tab;
+                count++;
+            }
+
+            i += (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') ? 2 : 1;
+            start = i;
+            contentEnd = i;
+            tab = false;
+            if (start >= length) {
+                break;
+            }
+        }
+
+        this.lineCount = count;
+        this.starts = lineStarts;
+        this.lengths = lineLengths;
+        this.trailingStarts = lineTrailingStarts;
+        this.trailingTabs = lineTrailingTabs;
+    }
+
+    /**
+     * Builds the line table of the given text.
+     */
+    public static LineTable build(CharSequence text) {
+        return new LineTable(text == null ? "" : text);
+    }
+
+    /**
+     * Returns the line table of the document's raw text, building it on first
+     * use and caching it on the root node.
+     *
+     * @param document document root
+     * @return line table of the root's raw text
+     */
+    public static LineTable of(TreeNode<MdAstNode> document) {
+        MdAstNode data = document.getData();
+        CharSequence raw = data != null ? data.getRawSlice() : null;
+        LineTable table = data != null ? data.getLineTable() : null;
+        if (table == null || table.text != raw) {
+            table = build(raw);
+            if (data != null) {
+                data.setLineTable(table);
+            }
+        }
+        return table;
+    }
+
+    public CharSequence getText() {
+        return text;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Offset of the first character of the line in the text.
+     */
+    public int lineStart(int line) {
+        return starts[checkLine(line)];
+    }
+
+    /**
+     * Length of the line without its terminator.
+     */
+    public int lineLength(int line) {
+        return lengths[checkLine(line)];
+    }
+
+    /**
+     * Exclusive end offset of the line content in the text.
+     */
+    public int lineEnd(int line) {
+        return starts[checkLine(line)] + lengths[line];
+    }
+
+    /**
+     * Column where the trailing whitespace of the line begins, or the line
+     * length when the line has no trailing whitespace.
+     */
+    public int trailingWhitespaceStart(int line) {
+        return trailingStarts[checkLine(line)];
+    }
+
+    /**
+     * Number of trailing spaces and tabs of the line.
+     */
+    public int trailingWhitespaceLength(int line) {
+        return lengths[checkLine(line)] - trailingStarts[line];
+    }
+
+    /**
+     * Whether the trailing whitespace of the line contains a tab.
+     */
+    public boolean hasTrailingTab(int line) {
+        return trailingTabs[checkLine(line)];
+    }
+
+    /**
+     * Finds the 0-based line containing the given text offset. Offsets that
+     * fall on a terminator belong to the line it ends.
+     */
+    public int lineOf(int offset) {
+        if (lineCount == 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(starts, 0, lineCount, offset);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + " out of range [0, " + lineCount + ")");
+        }
+        return line;
+    }
+}
@@ -4,22 +4,26 @@ import org.commonmark.node.Node;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class MdAstNode {
 
+    /**
+     * Id of a node that was not created through a {@link NodeIdAllocator}.
+     */
+    public static final int UNASSIGNED_ID = -1;
+
     // common mark node
     private Node commonMarkNode;
 
     // attribute
-    private String nodeId;
+    private int nodeId;
     private MdNodeType nodeType;
     private String text;
 
     // file and position
     private String fileId;
     private SourceRange sourceRange;
-    private String rawStr;
+    private SourceSlice rawSlice;
 
     //
     private MdAstNode parent;
@@ -27,8 +31,16 @@ public class MdAstNode {
     private int depth;
     private Integer indexInParent;
 
+    // lookup tables, only set on the document root
+    private DocumentIndex documentIndex;
+    private LineTable lineTable;
+
     public MdAstNode() {
-        this.nodeId = UUID.randomUUID().toString();
+        this(UNASSIGNED_ID);
+    }
+
+    public MdAstNode(int nodeId) {
+        this.nodeId = nodeId;
         this.children = new ArrayList<>();
     }
 
@@ -40,11 +52,18 @@ public class MdAstNode {
         this.commonMarkNode = commonMarkNode;
     }
 
+    /**
+     * Gets the node id in string form for error messages, or null if unassigned.
+     */
     public String getNodeId() {
+        return nodeId != UNASSIGNED_ID ? Integer.toString(nodeId) : null;
+    }
+
+    public int getNumericId() {
         return nodeId;
     }
 
-    public void setNodeId(String nodeId) {
+    public void setNodeId(int nodeId) {
         this.nodeId = nodeId;
     }
 
@@ -80,12 +99,27 @@ public class MdAstNode {
         this.sourceRange = sourceRange;
     }
 
+    /**
+     * Gets the raw source of this node as a new string.
+     * Prefer {@link #getRawSlice()} when the text is only scanned.
+     */
     public String getRawStr() {
-        return rawStr;
+        return rawSlice != null ? rawSlice.toString() : null;
     }
 
     public void setRawStr(String rawStr) {
-        this.rawStr = rawStr;
+        this.rawSlice = rawStr != null ? SourceSlice.of(rawStr) : null;
+    }
+
+    /**
+     * Gets the raw source of this node as a view into the shared document text.
+     */
+    public SourceSlice getRawSlice() {
+        return rawSlice;
+    }
+
+    public void setRawSlice(SourceSlice rawSlice) {
+        this.rawSlice = rawSlice;
     }
 
     public MdAstNode getParent() {
@@ -125,4 +159,20 @@ public class MdAstNode {
     public void setIndexInParent(Integer indexInParent) {
         this.indexInParent = indexInParent;
     }
+
+    public DocumentIndex getDocumentIndex() {
+        return documentIndex;
+    }
+
+    public void setDocumentIndex(DocumentIndex documentIndex) {
+        this.documentIndex = documentIndex;
+    }
+
+    public LineTable getLineTable() {
+        return lineTable;
+    }
+
+    public void setLineTable(LineTable lineTable) {
+        this.lineTable = lineTable;
+    }
 }
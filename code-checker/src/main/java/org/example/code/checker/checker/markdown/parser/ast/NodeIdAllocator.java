@@ -0,0 +1,40 @@
+package org.example.code.checker.checker.markdown.parser.ast;
+
+/**
+ * Hands out compact sequential node ids within one document.
+ * <p>
+ * Ids start at 0 (unless a first id is given) and are unique per allocator, so every parsed document
+ * should use its own instance. Not thread-safe.
+ */
+public final class NodeIdAllocator {
+
+    private int next;
+
+    public NodeIdAllocator() {
+        this(0);
+    }
+
+    /**
+     * Creates an allocator that continues after ids already in use,
+     * for example when nodes are added to an existing document.
+     *
+     * @param firstId first id to hand out
+     */
+    public NodeIdAllocator(int firstId) {
+        this.next = firstId;
+    }
+
+    /**
+     * Returns the next unused id.
+     */
+    public int next() {
+        return next++;
+    }
+
+    /**
+     * Returns how many ids have been handed out so far.
+     */
+    public int allocated() {
+        return next;
+    }
+}
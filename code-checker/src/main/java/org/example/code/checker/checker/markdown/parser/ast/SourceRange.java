@@ -1,16 +1,20 @@
 package org.example.code.checker.checker.markdown.parser.ast;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public class SourceRange {
     private final int line;
     private final int column;
     private final int inputIndex;
     private final int length;
 
+    @JsonCreator
     public SourceRange(
-        int line,
-        int column,
-        int inputIndex,
-        int length
+        @JsonProperty("line") int line,
+        @JsonProperty("column") int column,
+        @JsonProperty("inputIndex") int inputIndex,
+        @JsonProperty("length") int length
     ) {
         this.line = line;
         this.column = column;
@@ -0,0 +1,102 @@
+package org.example.code.checker.checker.markdown.parser.ast;
+
+/**
+ * Read-only view of a range of the shared document text.
+ * <p>
+ * All nodes of one document point into the same source string, so holding
+ * a slice per node costs a few fields instead of a copy of the text. The
+ * text is only copied when {@link #toString()} is called.
+ */
+public final class SourceSlice implements CharSequence {
+
+    private final String source;
+    private final int start;
+    private final int length;
+
+    public SourceSlice(String source, int start, int length) {
+        if (source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        if (start < 0 || length < 0 || start + length > source.length()) {
+            throw new IndexOutOfBoundsException(
+                    "Slice [" + start + ", " + (start + length) + ") out of bounds for length " + source.length());
+        }
+        this.source = source;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * Creates a slice covering the whole string.
+     */
+    public static SourceSlice of(String source) {
+        return new SourceSlice(source, 0, source.length());
+    }
+
+    /**
+     * Gets the shared document text this slice points into.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the start offset of this slice in {@link #getSource()}.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end offset (exclusive) of this slice in {@link #getSource()}.
+     */
+    public int getEnd() {
+        return start + length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length);
+        }
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public SourceSlice subSequence(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > length || beginIndex > endIndex) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + beginIndex + ", " + endIndex + ") out of bounds for length " + length);
+        }
+        return new SourceSlice(source, start + beginIndex, endIndex - beginIndex);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the character in this slice, or -1.
+     */
+    public int indexOf(char c) {
+        int end = start + length;
+        for (int i = start; i < end; i++) {
+            if (source.charAt(i) == c) {
+                return i - start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Materializes the slice as a new string.
+     */
+    @Override
+    public String toString() {
+        if (start == 0 && length == source.length()) {
+            return source;
+        }
+        return source.substring(start, start + length);
+    }
+}
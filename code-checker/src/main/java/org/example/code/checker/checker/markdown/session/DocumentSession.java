@@ -0,0 +1,381 @@
+package org.example.code.checker.checker.markdown.session;
+
+import org.example.code.checker.checker.Checker;
+import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.code.checker.checker.markdown.parser.IncrementalParser;
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ReparseResult;
+import org.example.code.checker.checker.markdown.parser.TextEdit;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+import org.example.code.checker.checker.markdown.task.rule.ContentNumberRule;
+import org.example.code.checker.checker.markdown.task.structure.StructureChecker;
+import org.example.code.checker.checker.markdown.task.structure.arguments.ArgumentListChecker;
+import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeListChecker;
+import org.example.code.checker.checker.markdown.task.structure.example.ExampleChecker;
+import org.example.code.checker.checker.markdown.task.structure.front.matter.FrontMatterChecker;
+import org.example.code.checker.checker.markdown.task.structure.title.TitleChecker;
+import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An open markdown document that is edited in place, e.g. by an editor.
+ * <p>
+ * Runs the same checkers as {@code MarkdownPipeline}. After an edit the
+ * document is re-parsed with {@link IncrementalParser} and only the checkers
+ * whose input can have changed run again:
+ * <ul>
+ *     <li>section checkers (title, example, arguments, attributes) when the
+ *     re-parsed range overlaps their section, or lies before it and moved
+ *     lines (their messages carry line numbers);</li>
+ *     <li>the content number rule when one of its upstream checkers runs;</li>
+ *     <li>the structure checker after every edit;</li>
+ *     <li>the front matter checker only after a full re-parse.</li>
+ * </ul>
+ * All checkers run again when the edit added or removed a heading, since
+ * that can move section boundaries. Errors of checkers that did not run are
+ * kept from their last run.
+ * <p>
+ * A checker that throws does not abort the session: the exception is kept
+ * as its failure and its dependents are skipped, as for a stopped node.
+ * <p>
+ * A session is not thread-safe.
+ */
+public class DocumentSession {
+
+    private static final String FRONT_MATTER = "checkFrontMatter";
+    private static final String TITLE = "checkTitle";
+    private static final String STRUCTURE = "checkStructure";
+    private static final String EXAMPLE = "checkExample";
+    private static final String ARGUMENT_LIST = "checkArgumentList";
+    private static final String ATTRIBUTE_LIST = "checkAttributeList";
+    private static final String CONTENT_NUMBER = "checkContentNumber";
+
+    /**
+     * Checkers the content number rule depends on, besides the parser.
+     */
+    private static final List<String> CONTENT_NUMBER_UPSTREAM = List.of(TITLE, ARGUMENT_LIST, ATTRIBUTE_LIST);
+
+    private final String fileId;
+
+    private final Map<String, Checker> checkers = new LinkedHashMap<>();
+
+    private final Map<String, Section> sections = new HashMap<>();
+
+    private final Map<String, RuntimeException> failures = new HashMap<>();
+
+    /**
+     * Context of the last run of each checker that ran and did not throw.
+     */
+    private final Map<String, TaskContext> contexts = new HashMap<>();
+
+    /**
+     * Checkers that have not run since an edit that can affect them.
+     */
+    private final Set<String> stale = new HashSet<>();
+
+    /**
+     * Parser outputs and checker outputs, shared as input by all checkers.
+     */
+    private final Map<String, TaskData<?>> input = new HashMap<>();
+
+    private String text;
+
+    private TreeNode<MdAstNode> document;
+
+    /**
+     * Opens a document and runs all checkers on it.
+     *
+     * @param fileId file id used in error messages
+     * @param text   document text
+     */
+    public DocumentSession(String fileId, String text) {
+        this(fileId, text, PatternRegistry.defaults());
+    }
+
+    /**
+     * Opens a document and runs all checkers on it.
+     *
+     * @param fileId   file id used in error messages
+     * @param text     document text
+     * @param patterns patterns of the checkers
+     */
+    public DocumentSession(String fileId, String text, PatternRegistry patterns) {
+        this.fileId = fileId;
+        register(new FrontMatterChecker(patterns), FRONT_MATTER);
+        register(new TitleChecker(), TITLE);
+        register(new StructureChecker(), STRUCTURE);
+        register(new ExampleChecker(), EXAMPLE);
+        register(new ArgumentListChecker(patterns), ARGUMENT_LIST);
+        register(new AttributeListChecker(patterns), ATTRIBUTE_LIST);
+        // One document at a time, so long lists may use the spare cores
+        register(new ContentNumberRule(ForkJoinPool.commonPool()), CONTENT_NUMBER);
+
+        sections.put(TITLE, new Section(1, null, null));
+        sections.put(EXAMPLE, new Section(2, "Example Usage", 2));
+        sections.put(ARGUMENT_LIST, new Section(2, "Argument Reference", 2));
+        sections.put(ATTRIBUTE_LIST, new Section(2, "Attribute Reference", 2));
+
+        replaceText(text);
+    }
+
+    private void register(Checker checker, String id) {
+        checker.setId(id);
+        checkers.put(id, checker);
+    }
+
+    /**
+     * Replaces the whole text, parses it from scratch and runs all checkers.
+     *
+     * @return ids of the checkers that ran, in pipeline order
+     */
+    public List<String> replaceText(String text) {
+        this.text = text;
+        setDocument(MdAstGenerator.generate(text, fileId));
+        updateSections();
+        stale.addAll(checkers.keySet());
+        return check(() -> false);
+    }
+
+    /**
+     * Applies an edit and runs the checkers it can affect.
+     *
+     * @param edit the text edit, in offsets of the current text
+     * @return ids of the checkers that ran, in pipeline order
+     */
+    public List<String> applyEdit(TextEdit edit) {
+        update(edit);
+        return check(() -> false);
+    }
+
+    /**
+     * Applies an edit and marks the checkers it can affect, without running
+     * them. Several edits can be applied before one {@link #check}.
+     *
+     * @param edit the text edit, in offsets of the current text
+     */
+    public void update(TextEdit edit) {
+        int oldLength = text.length();
+        ReparseResult result = IncrementalParser.reparse(document, edit, fileId);
+        text = result.getDocument().getData().getRawStr();
+        setDocument(result.getDocument());
+
+        boolean all = result.isFull() || result.isHeadingsChanged();
+        int changedStart = result.getChangedStart();
+        int changedEndOld = result.getChangedEnd() - (text.length() - oldLength);
+
+        for (String id : checkers.keySet()) {
+            boolean affected;
+            if (all || STRUCTURE.equals(id)) {
+                affected = true;
+            } else if (FRONT_MATTER.equals(id)) {
+                affected = false;
+            } else if (CONTENT_NUMBER.equals(id)) {
+                affected = CONTENT_NUMBER_UPSTREAM.stream().anyMatch(stale::contains);
+            } else {
+                affected = sections.get(id).isAffected(changedStart, changedEndOld, result.getLineDelta());
+            }
+            if (affected) {
+                stale.add(id);
+            }
+        }
+        updateSections();
+    }
+
+    /**
+     * Runs the checkers marked by earlier edits, in pipeline order.
+     *
+     * @param cancelled polled before each checker; once it returns true the
+     *                  remaining checkers stay marked for the next call
+     * @return ids of the checkers that ran, in pipeline order
+     */
+    public List<String> check(BooleanSupplier cancelled) {
+        List<String> ran = new ArrayList<>();
+        for (Map.Entry<String, Checker> entry : checkers.entrySet()) {
+            if (!stale.contains(entry.getKey())) {
+                continue;
+            }
+            if (cancelled.getAsBoolean()) {
+                break;
+            }
+            run(entry.getValue());
+            stale.remove(entry.getKey());
+            ran.add(entry.getKey());
+        }
+        return ran;
+    }
+
+    /**
+     * Whether every checker has seen the current text.
+     */
+    public boolean isChecked() {
+        return stale.isEmpty();
+    }
+
+    private void setDocument(TreeNode<MdAstNode> document) {
+        this.document = document;
+        input.put("rawCode", new TaskData<>("rawCode", text));
+        input.put("originalDocument", new TaskData<>("originalDocument", document));
+        input.put("workingDocument", new TaskData<>("workingDocument", document));
+        input.put("fileId", new TaskData<>("fileId", fileId));
+    }
+
+    /**
+     * Runs one checker and replaces its previous outputs in the shared input.
+     */
+    private void run(Checker checker) {
+        String id = checker.getId();
+        TaskContext previous = contexts.remove(id);
+        if (previous != null && previous.getOutput() != null) {
+            for (TaskData<?> data : previous.getOutput()) {
+                input.remove(data.getName());
+            }
+        }
+        failures.remove(id);
+
+        // Same as FlowEngine: a stopped upstream node skips its dependents
+        if (CONTENT_NUMBER.equals(id)) {
+            for (String upstream : CONTENT_NUMBER_UPSTREAM) {
+                if (isStopped(upstream)) {
+                    return;
+                }
+            }
+        }
+
+        TaskContext context;
+        try {
+            context = checker.execute(input);
+        } catch (RuntimeException e) {
+            // Keep the session usable while the text is in a state the checker cannot handle
+            failures.put(id, e);
+            return;
+        }
+        contexts.put(id, context);
+        if (context.getOutput() != null) {
+            for (TaskData<?> data : context.getOutput()) {
+                input.put(data.getName(), data);
+            }
+        }
+    }
+
+    /**
+     * Whether the last run of a checker threw or requested a stop.
+     */
+    private boolean isStopped(String id) {
+        TaskContext context = contexts.get(id);
+        return failures.containsKey(id) || context != null && context.isNeedStop();
+    }
+
+    private void updateSections() {
+        DocumentIndex index = DocumentIndex.of(document);
+        for (Section section : sections.values()) {
+            section.locate(index);
+        }
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public TreeNode<MdAstNode> getDocument() {
+        return document;
+    }
+
+    /**
+     * Gets the current errors of each checker that reported any, in pipeline order.
+     */
+    public Map<String, List<CheckError>> getErrorsByNode() {
+        Map<String, List<CheckError>> errorsByNode = new LinkedHashMap<>();
+        for (String id : checkers.keySet()) {
+            TaskContext context = contexts.get(id);
+            if (context == null) {
+                continue;
+            }
+            List<CheckError> errors = Checker.getErrorList(context);
+            if (!errors.isEmpty()) {
+                errorsByNode.put(id, List.copyOf(errors));
+            }
+        }
+        return errorsByNode;
+    }
+
+    /**
+     * Gets the failure of each checker whose last run threw, in pipeline order.
+     */
+    public Map<String, RuntimeException> getFailures() {
+        Map<String, RuntimeException> ordered = new LinkedHashMap<>();
+        for (String id : checkers.keySet()) {
+            if (failures.containsKey(id)) {
+                ordered.put(id, failures.get(id));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * The section a checker reads, located in the document it last saw.
+     */
+    private static final class Section {
+        private final int level;
+        private final String heading;
+        private final Integer endLevel;
+
+        /**
+         * Source offsets of the section, or -1 if the heading is missing.
+         */
+        private int start = -1;
+        private int end = -1;
+
+        Section(int level, String heading, Integer endLevel) {
+            this.level = level;
+            this.heading = heading;
+            this.endLevel = endLevel;
+        }
+
+        void locate(DocumentIndex index) {
+            start = -1;
+            end = -1;
+            Optional<TreeNode<MdAstNode>> headingNode = index.findHeading(level, heading);
+            if (headingNode.isEmpty()) {
+                return;
+            }
+            List<TreeNode<MdAstNode>> nodes = index.section(headingNode.get(), endLevel);
+            SourceRange first = nodes.get(0).getData().getSourceRange();
+            SourceRange last = nodes.get(nodes.size() - 1).getData().getSourceRange();
+            start = first.getInputIndex();
+            end = last.getInputIndex() + last.getLength();
+        }
+
+        /**
+         * Whether an edit re-parsing [changedStart, changedEnd) of the old
+         * text and moving lines by lineDelta can change the checker's result.
+         */
+        boolean isAffected(int changedStart, int changedEnd, int lineDelta) {
+            if (start < 0) {
+                return true;
+            }
+            if (end < changedStart) {
+                return false;
+            }
+            return start < changedEnd || lineDelta != 0;
+        }
+    }
+}
@@ -10,29 +10,59 @@ import org.example.code.checker.checker.markdown.task.structure.attributes.Attri
 import org.example.code.checker.checker.markdown.task.structure.attributes.AttributeList;
 import org.example.code.checker.checker.markdown.task.structure.title.Title;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Checker for number formatting rules in content.
  * This checker is special because it needs to check multiple data structures,
  * not just the document AST.
+ * <p>
+ * Created with a {@link ForkJoinPool}, the checker checks the descriptions
+ * of long lists on that pool. Only give it a pool when the caller checks one
+ * document at a time, e.g. an editor session: a corpus run already keeps
+ * every core busy with other files, and splitting each page again would
+ * only oversubscribe the CPU.
  */
 public class ContentNumberRule extends Checker {
 
-    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    /**
+     * Lists with at least this many entries have their descriptions checked in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 512;
 
     private final NumberBacktickRule backtickRule = new NumberBacktickRule();
     private final NumberThousandSeparatorRule thousandSeparatorRule = new NumberThousandSeparatorRule();
 
+    /**
+     * Pool checking long lists, null to check everything on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    public ContentNumberRule() {
+        this(null);
+    }
+
+    /**
+     * @param pool pool checking the descriptions of long lists, or null to
+     *             check everything on the calling thread
+     */
+    public ContentNumberRule(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext taskContext) {
         List<CheckError> errors = new ArrayList<>();
+        Map<String, TaskData<?>> input = taskContext.getInput();
 
         // Create a minimal context for error reporting
         TaskData<?> documentData = input.get("originalDocument");
@@ -62,11 +92,8 @@ public class ContentNumberRule extends Checker {
             checkText("ArgumentList.description", argumentList.getDescription(), context, errors);
 
             if (argumentList.getArguments() != null) {
-                for (int i = 0; i < argumentList.getArguments().size(); i++) {
-                    Argument argument = argumentList.getArguments().get(i);
-                    checkText(String.format("Argument[%d].description", i),
-                            argument.getDescription(), context, errors);
-                }
+                checkDescriptions("Argument", argumentList.getArguments(), Argument::getDescription,
+                        context, errors);
             }
         }
 
@@ -77,52 +104,73 @@ public class ContentNumberRule extends Checker {
             checkText("AttributeList.description", attributeList.getDescription(), context, errors);
 
             if (attributeList.getAttributes() != null) {
-                for (int i = 0; i < attributeList.getAttributes().size(); i++) {
-                    Attribute attribute = attributeList.getAttributes().get(i);
-                    checkText(String.format("Attribute[%d].description", i),
-                            attribute.getDescription(), context, errors);
-                }
+                checkDescriptions("Attribute", attributeList.getAttributes(), Attribute::getDescription,
+                        context, errors);
             }
         }
 
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(taskContext, errors);
+            taskContext.setNeedStop(true);
             return null;
         }
 
         return output;
     }
 
+    @Override
+    public String getFingerprint() {
+        return super.getFingerprint()
+                + "[" + backtickRule.getClass().getName() + "@" + backtickRule.getVersion() + "]"
+                + "[" + thousandSeparatorRule.getClass().getName() + "@" + thousandSeparatorRule.getVersion() + "]";
+    }
+
     /**
-     * Checks a text string for number formatting issues using rules.
+     * Checks the description of every entry of an argument or attribute list.
+     * With a pool, long lists, as found in generated reference pages, are
+     * checked on several cores; errors keep the order of the entries either way.
+     */
+    private <E> void checkDescriptions(String entryName, List<E> entries, Function<E, String> description,
+                                       CheckContext context, List<CheckError> errors) {
+        if (pool == null || entries.size() < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < entries.size(); i++) {
+                checkText(String.format("%s[%d].description", entryName, i),
+                        description.apply(entries.get(i)), context, errors);
+            }
+            return;
+        }
+        // A parallel stream started inside a pool task runs on that pool
+        List<List<CheckError>> entryErrors = pool.submit(() -> IntStream.range(0, entries.size())
+                .parallel()
+                .mapToObj(i -> {
+                    List<CheckError> found = new ArrayList<>();
+                    checkText(String.format("%s[%d].description", entryName, i),
+                            description.apply(entries.get(i)), context, found);
+                    return found;
+                })
+                .collect(Collectors.toList())).join();
+        for (List<CheckError> found : entryErrors) {
+            errors.addAll(found);
+        }
+    }
+
+    /**
+     * Checks a text string for number formatting issues. The text is
+     * tokenized once and every rule works on the same classified numbers.
      */
     private void checkText(String fieldName, String text, CheckContext context, List<CheckError> errors) {
         if (text == null || text.trim().isEmpty()) {
             return;
         }
 
-        // First check for backticks (needed for thousand separator check)
-        List<CheckError> backtickErrors = backtickRule.checkText(fieldName, text, context);
-        errors.addAll(backtickErrors);
-
-        // Check for thousand separators (the rule will check each number individually)
-        // We need to check each number to see if it's wrapped
-        Matcher numberMatcher = NUMBER_PATTERN.matcher(text);
-        while (numberMatcher.find()) {
-            int start = numberMatcher.start();
-            int end = numberMatcher.end();
-            String numberStr = numberMatcher.group();
-
-            boolean isBacktickWrapped = backtickRule.isWrappedInBackticks(text, start, end);
-            boolean isBoldWrapped = backtickRule.isWrappedInBold(text, start, end);
-
-            List<CheckError> separatorErrors = thousandSeparatorRule.checkText(
-                    fieldName, text, isBacktickWrapped, isBoldWrapped, context);
-            errors.addAll(separatorErrors);
+        List<NumberToken> tokens = NumberTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
         }
+        errors.addAll(backtickRule.checkTokens(fieldName, tokens, context));
+        errors.addAll(thousandSeparatorRule.checkTokens(fieldName, tokens, context));
     }
 }
 
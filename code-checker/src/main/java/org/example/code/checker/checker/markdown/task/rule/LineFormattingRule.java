@@ -3,6 +3,7 @@ package org.example.code.checker.checker.markdown.task.rule;
 import org.example.code.checker.checker.common.BaseCheckRule;
 import org.example.code.checker.checker.common.CheckContext;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.LineTable;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
 import org.example.code.checker.checker.utils.TreeNode;
@@ -12,6 +13,9 @@ import java.util.List;
 
 /**
  * Rule for checking line formatting: trailing spaces and line length (max 120 characters).
+ * <p>
+ * Works on the document's shared {@link LineTable}, so lines without problems
+ * cost a few array lookups and no allocation.
  */
 public class LineFormattingRule extends BaseCheckRule {
 
@@ -23,115 +27,73 @@ public class LineFormattingRule extends BaseCheckRule {
         TreeNode<MdAstNode> document = context.getDocument();
 
         MdAstNode documentData = document.getData();
-        if (documentData == null) {
+        if (documentData == null || documentData.getRawSlice() == null) {
             return errors;
         }
 
-        String rawStr = documentData.getRawStr();
-        if (rawStr == null) {
-            return errors;
-        }
-
-        // Process line by line to accurately track positions
-        int lineNumber = 1;
-        int lineStartIndex = 0;
-
-        for (int i = 0; i < rawStr.length(); i++) {
-            char c = rawStr.charAt(i);
-
-            // Check for newline characters
-            if (c == '\n' || (c == '\r' && (i + 1 >= rawStr.length() || rawStr.charAt(i + 1) != '\n'))) {
-                int lineEndIndex = (c == '\r' && i + 1 < rawStr.length() && rawStr.charAt(i + 1) == '\n')
-                        ? i : i;
-                String line = rawStr.substring(lineStartIndex, lineEndIndex);
-                int lineLength = line.length();
-
-                // Check trailing spaces
-                checkTrailingSpaces(line, lineNumber, lineStartIndex, lineLength, documentData, context, errors);
-
-                // Check line length
-                checkLineLength(lineLength, lineNumber, lineStartIndex, documentData, context, errors);
-
-                // Move to next line
-                lineNumber++;
-                if (c == '\r' && i + 1 < rawStr.length() && rawStr.charAt(i + 1) == '\n') {
-                    lineStartIndex = i + 2;
-                    i++;
-                } else {
-                    lineStartIndex = i + 1;
-                }
-            } else if (c == '\r' && i + 1 < rawStr.length() && rawStr.charAt(i + 1) == '\n') {
-                continue;
-            }
-        }
-
-        // Process the last line (if file doesn't end with newline)
-        if (lineStartIndex < rawStr.length()) {
-            String line = rawStr.substring(lineStartIndex);
-            int lineLength = line.length();
-
-            checkTrailingSpaces(line, lineNumber, lineStartIndex, lineLength, documentData, context, errors);
-            checkLineLength(lineLength, lineNumber, lineStartIndex, documentData, context, errors);
+        LineTable lines = context.getLineTable();
+        for (int line = 0; line < lines.lineCount(); line++) {
+            checkTrailingSpaces(lines, line, documentData, context, errors);
+            checkLineLength(lines, line, documentData, context, errors);
         }
 
         return errors;
     }
 
-    private void checkTrailingSpaces(String line, int lineNumber, int lineStartIndex, int lineLength,
-                                    MdAstNode documentData, CheckContext context, List<CheckError> errors) {
-        if (lineLength == 0) {
+    private void checkTrailingSpaces(LineTable lines, int line, MdAstNode documentData,
+                                     CheckContext context, List<CheckError> errors) {
+        int trailingCount = lines.trailingWhitespaceLength(line);
+        if (trailingCount == 0) {
             return;
         }
 
-        // Find the last non-whitespace character
-        int lastNonWhitespace = lineLength - 1;
-        while (lastNonWhitespace >= 0 && line.charAt(lastNonWhitespace) == ' ') {
-            lastNonWhitespace--;
-        }
-
-        int trailingStart = lastNonWhitespace + 1;
-        int trailingSpaceCount = lineLength - trailingStart;
-
-        // Check if there are any non-space trailing characters (like tabs)
-        boolean hasNonSpaceTrailing = false;
-        for (int j = trailingStart; j < lineLength; j++) {
-            if (line.charAt(j) != ' ') {
-                hasNonSpaceTrailing = true;
-                break;
-            }
-        }
+        int lineNumber = line + 1;
+        int trailingStart = lines.trailingWhitespaceStart(line);
+        int trailingIndex = lines.lineStart(line) + trailingStart;
 
         // Report error if:
         // 1. Has non-space trailing characters (like tabs)
         // 2. Has trailing spaces but count is not 0 or 2
-        if (hasNonSpaceTrailing) {
-            errors.add(createError(context, "InvalidTrailingWhitespace",
-                    String.format("Line %d has invalid trailing characters. Only 0 or 2 spaces are allowed at line end.", lineNumber),
-                    new SourceRange(lineNumber - 1, trailingStart, lineStartIndex + trailingStart, lineLength - trailingStart),
-                    documentData.getNodeId(), "DOCUMENT"));
-        } else if (trailingSpaceCount > 0 && trailingSpaceCount != 2) {
-            errors.add(createError(context, "InvalidTrailingWhitespace",
-                    String.format("Line %d has %d trailing spaces. Only 0 or 2 spaces are allowed at line end.",
-                            lineNumber, trailingSpaceCount),
-                    new SourceRange(lineNumber - 1, trailingStart, lineStartIndex + trailingStart, trailingSpaceCount),
-                    documentData.getNodeId(), "DOCUMENT"));
+        if (lines.hasTrailingTab(line)) {
+            errors.add(error(context, "InvalidTrailingWhitespace")
+                    .message("Line %d has invalid trailing characters. Only 0 or 2 spaces are allowed at line end.",
+                            lineNumber)
+                    .sourceRange(new SourceRange(line, trailingStart, trailingIndex, trailingCount))
+                    .nodeId(documentData.getNodeId())
+                    .nodeType("DOCUMENT")
+                    .build());
+        } else if (trailingCount != 2) {
+            errors.add(error(context, "InvalidTrailingWhitespace")
+                    .message("Line %d has %d trailing spaces. Only 0 or 2 spaces are allowed at line end.",
+                            lineNumber, trailingCount)
+                    .sourceRange(new SourceRange(line, trailingStart, trailingIndex, trailingCount))
+                    .nodeId(documentData.getNodeId())
+                    .nodeType("DOCUMENT")
+                    .build());
         }
     }
 
-    private void checkLineLength(int lineLength, int lineNumber, int lineStartIndex,
-                                 MdAstNode documentData, CheckContext context, List<CheckError> errors) {
+    private void checkLineLength(LineTable lines, int line, MdAstNode documentData,
+                                 CheckContext context, List<CheckError> errors) {
+        int lineLength = lines.lineLength(line);
         if (lineLength > MAX_LINE_LENGTH) {
-            errors.add(createError(context, "LineTooLong",
-                    String.format("Line %d exceeds maximum length of %d characters (found %d characters)",
-                            lineNumber, MAX_LINE_LENGTH, lineLength),
-                    new SourceRange(lineNumber - 1, 0, lineStartIndex, lineLength),
-                    documentData.getNodeId(), "DOCUMENT"));
+            errors.add(error(context, "LineTooLong")
+                    .message("Line %d exceeds maximum length of %d characters (found %d characters)",
+                            line + 1, MAX_LINE_LENGTH, lineLength)
+                    .sourceRange(new SourceRange(line, 0, lines.lineStart(line), lineLength))
+                    .nodeId(documentData.getNodeId())
+                    .nodeType("DOCUMENT")
+                    .build());
         }
     }
 
+    @Override
+    public String getVersion() {
+        return "2";
+    }
+
     @Override
     public String getRuleName() {
         return "LineFormatting";
     }
 }
-
@@ -1,6 +1,6 @@
 package org.example.code.checker.checker.markdown.task.rule;
 
-import org.commonmark.node.Heading;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
@@ -24,26 +24,7 @@ public class MarkdownCheckerUtils {
      */
     public static Optional<TreeNode<MdAstNode>> findHeadingByLevelAndText(
             TreeNode<MdAstNode> document, int level, String text) {
-        List<TreeNode<MdAstNode>> headingNodes = document.query()
-                .all()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.HEADING)
-                .list();
-
-        return headingNodes.stream()
-                .filter(node -> {
-                    MdAstNode data = node.getData();
-                    Heading heading = (Heading) data.getCommonMarkNode();
-                    if (heading == null || heading.getLevel() != level) {
-                        return false;
-                    }
-                    if (text != null) {
-                        String headingText = extractHeadingText(node);
-                        return headingText != null && headingText.trim().equalsIgnoreCase(text);
-                    }
-                    return true;
-                })
-                .findFirst();
+        return DocumentIndex.of(document).findHeading(level, text);
     }
 
     /**
@@ -51,18 +32,7 @@ public class MarkdownCheckerUtils {
      * Returns -1 if not found.
      */
     public static int getNodePosition(TreeNode<MdAstNode> document, TreeNode<MdAstNode> targetNode) {
-        List<TreeNode<MdAstNode>> children = document.getChildren();
-        if (children == null) {
-            return -1;
-        }
-
-        for (int i = 0; i < children.size(); i++) {
-            if (children.get(i) == targetNode) {
-                return i;
-            }
-        }
-
-        return -1;
+        return DocumentIndex.of(document).positionOf(targetNode);
     }
 
     /**
@@ -6,18 +6,13 @@ import org.example.code.checker.checker.common.CheckError;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Rule for checking if large numbers use thousand separators.
  */
 public class NumberThousandSeparatorRule extends BaseCheckRule {
 
-    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
-    private static final Pattern TIMESTAMP_PATTERN = Pattern.compile(
-            "\\b(?:\\d{4}-\\d{2}-\\d{2}(?:T\\d{2}:\\d{2}:\\d{2}(?:\\.\\d+)?(?:Z|[+-]\\d{2}:\\d{2})?)?|" +
-                    "\\d{10,13})\\b");
+    private static final int SEPARATOR_THRESHOLD = 1000;
 
     @Override
     public List<CheckError> check(CheckContext context) {
@@ -30,74 +25,59 @@ public class NumberThousandSeparatorRule extends BaseCheckRule {
     /**
      * Checks a specific text field for numbers that need thousand separators.
      */
-    public List<CheckError> checkText(String fieldName, String text, boolean isBacktickWrapped,
-                                      boolean isBoldWrapped, CheckContext context) {
-        List<CheckError> errors = new ArrayList<>();
+    public List<CheckError> checkText(String fieldName, String text, CheckContext context) {
         if (text == null || text.trim().isEmpty()) {
-            return errors;
-        }
-
-        // Only check if not wrapped in backticks or bold (they might contain formatted numbers)
-        if (isBacktickWrapped || isBoldWrapped) {
-            return errors;
+            return new ArrayList<>();
         }
+        return checkTokens(fieldName, NumberTokenizer.tokenize(text), context);
+    }
 
-        Matcher numberMatcher = NUMBER_PATTERN.matcher(text);
-
-        while (numberMatcher.find()) {
-            int start = numberMatcher.start();
-            int end = numberMatcher.end();
-            String numberStr = numberMatcher.group();
-
-            // Skip if this number is part of a timestamp
-            if (isTimestamp(text, start, end)) {
+    /**
+     * Checks the numbers of a text field that were already tokenized.
+     * Numbers wrapped in backticks or bold are left alone because they may
+     * intentionally contain formatted values.
+     */
+    public List<CheckError> checkTokens(String fieldName, List<NumberToken> tokens, CheckContext context) {
+        List<CheckError> errors = new ArrayList<>();
+        for (NumberToken token : tokens) {
+            // Only check plain integers (no decimal point), skip timestamps
+            if (token.isTimestamp() || token.isWrapped() || token.isDecimal()) {
                 continue;
             }
-
-            // Only check integers (no decimal point) and >= 1000
-            if (!numberStr.contains(".")) {
-                try {
-                    long number = Long.parseLong(numberStr);
-                    if (number >= 1000) {
-                        String formatted = formatWithThousandSeparator(number);
-                        if (!numberStr.equals(formatted)) {
-                            errors.add(createError(context, "MissingThousandSeparator",
-                                    String.format("Number '%s' in %s should use thousand separators: '%s'",
-                                            numberStr, fieldName, formatted),
-                                    null, null, fieldName));
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    // Ignore if number is too large to parse
+            String numberStr = token.getText();
+            try {
+                long number = Long.parseLong(numberStr);
+                if (number >= SEPARATOR_THRESHOLD) {
+                    errors.add(error(context, "MissingThousandSeparator")
+                            .message("Number '%s' in %s should use thousand separators: '%s'",
+                                    numberStr, fieldName, formatWithThousandSeparator(number))
+                            .nodeType(fieldName)
+                            .build());
                 }
+            } catch (NumberFormatException e) {
+                // Ignore if number is too large to parse
             }
         }
-
         return errors;
     }
 
-    private boolean isTimestamp(String text, int start, int end) {
-        int contextStart = Math.max(0, start - 30);
-        int contextEnd = Math.min(text.length(), end + 30);
-        String context = text.substring(contextStart, contextEnd);
-
-        int relativeStart = start - contextStart;
-        int relativeEnd = end - contextStart;
-
-        Matcher timestampMatcher = TIMESTAMP_PATTERN.matcher(context);
-        while (timestampMatcher.find()) {
-            int tsStart = timestampMatcher.start();
-            int tsEnd = timestampMatcher.end();
-            if (relativeStart >= tsStart && relativeEnd <= tsEnd) {
-                return true;
-            }
+    /**
+     * Formats with ',' every three digits, independent of the default locale.
+     */
+    private String formatWithThousandSeparator(long number) {
+        String digits = Long.toString(number);
+        StringBuilder sb = new StringBuilder(digits.length() + digits.length() / 3);
+        int firstGroup = digits.length() % 3 == 0 ? 3 : digits.length() % 3;
+        sb.append(digits, 0, firstGroup);
+        for (int i = firstGroup; i < digits.length(); i += 3) {
+            sb.append(',').append(digits, i, i + 3);
         }
-
-        return false;
+        return sb.toString();
     }
 
-    private String formatWithThousandSeparator(long number) {
-        return String.format("%,d", number);
+    @Override
+    public String getVersion() {
+        return "2";
     }
 
     @Override
@@ -105,4 +85,3 @@ public class NumberThousandSeparatorRule extends BaseCheckRule {
         return "NumberThousandSeparator";
     }
 }
-
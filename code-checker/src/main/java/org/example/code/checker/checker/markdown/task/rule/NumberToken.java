@@ -0,0 +1,71 @@
+package org.example.code.checker.checker.markdown.task.rule;
+
+/**
+ * A number found in a text field by {@link NumberTokenizer}, classified once
+ * for all number rules.
+ */
+public final class NumberToken {
+
+    private final String source;
+    private final int start;
+    private final int end;
+    private final boolean decimal;
+    private final boolean timestamp;
+    private final boolean backtickWrapped;
+    private final boolean boldWrapped;
+
+    NumberToken(String source, int start, int end, boolean decimal, boolean timestamp,
+                boolean backtickWrapped, boolean boldWrapped) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.decimal = decimal;
+        this.timestamp = timestamp;
+        this.backtickWrapped = backtickWrapped;
+        this.boldWrapped = boldWrapped;
+    }
+
+    /**
+     * Gets the number as written in the text.
+     */
+    public String getText() {
+        return source.substring(start, end);
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Whether the number has a fractional part.
+     */
+    public boolean isDecimal() {
+        return decimal;
+    }
+
+    /**
+     * Whether the number is part of a date, date-time or epoch timestamp.
+     */
+    public boolean isTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isBacktickWrapped() {
+        return backtickWrapped;
+    }
+
+    public boolean isBoldWrapped() {
+        return boldWrapped;
+    }
+
+    /**
+     * Whether the number is already formatted as code or bold text.
+     */
+    public boolean isWrapped() {
+        return backtickWrapped || boldWrapped;
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.code.checker.checker.markdown.task.rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass scanner that finds and classifies the numbers of a text field.
+ * <p>
+ * Numbers are matched like {@code \b\d+(?:\.\d+)?\b}. A number is a timestamp
+ * when it lies inside a match of
+ * {@code \b(?:\d{4}-\d{2}-\d{2}(?:T\d{2}:\d{2}:\d{2}(?:\.\d+)?(?:Z|[+-]\d{2}:\d{2})?)?|\d{10,13})\b}.
+ * Both patterns can only start at a digit that follows a word boundary, so
+ * the text is walked once and both are matched by hand at those positions.
+ */
+public final class NumberTokenizer {
+
+    private NumberTokenizer() {
+    }
+
+    /**
+     * Finds all numbers of the text in source order.
+     *
+     * @param text text to scan, may be null
+     * @return classified numbers, empty when there are none
+     */
+    public static List<NumberToken> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<NumberToken> tokens = new ArrayList<>();
+        int length = text.length();
+        int numberCursor = 0;
+        int timestampCursor = 0;
+        int timestampStart = -1;
+        int timestampEnd = -1;
+
+        for (int p = 0; p < length; p++) {
+            if (!isDigit(text.charAt(p)) || !isBoundary(text, p)) {
+                continue;
+            }
+
+            // Timestamps are matched left to right without overlapping, like Matcher.find
+            if (p >= timestampCursor) {
+                int end = matchTimestamp(text, p);
+                if (end > 0) {
+                    timestampStart = p;
+                    timestampEnd = end;
+                    timestampCursor = end;
+                }
+            }
+
+            if (p >= numberCursor) {
+                int digitsEnd = digitRun(text, p);
+                int end = -1;
+                boolean decimal = false;
+                if (digitsEnd + 1 < length && text.charAt(digitsEnd) == '.' && isDigit(text.charAt(digitsEnd + 1))) {
+                    int fractionEnd = digitRun(text, digitsEnd + 1);
+                    if (isBoundary(text, fractionEnd)) {
+                        end = fractionEnd;
+                        decimal = true;
+                    }
+                }
+                if (end < 0 && isBoundary(text, digitsEnd)) {
+                    end = digitsEnd;
+                }
+
+                if (end > 0) {
+                    boolean timestamp = p >= timestampStart && end <= timestampEnd;
+                    tokens.add(new NumberToken(text, p, end, decimal, timestamp,
+                            isWrappedInBackticks(text, p, end), isWrappedInBold(text, p, end)));
+                    numberCursor = end;
+                } else {
+                    numberCursor = digitsEnd;
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Matches a timestamp starting at a digit that follows a word boundary.
+     *
+     * @return exclusive end of the timestamp, or -1
+     */
+    private static int matchTimestamp(String text, int p) {
+        // yyyy-MM-dd with optional time, fraction and zone; longest alternative first
+        if (digits(text, p, 4) && at(text, p + 4, '-') && digits(text, p + 5, 2)
+                && at(text, p + 7, '-') && digits(text, p + 8, 2)) {
+            int date = p + 10;
+            if (at(text, date, 'T') && digits(text, date + 1, 2) && at(text, date + 3, ':')
+                    && digits(text, date + 4, 2) && at(text, date + 6, ':') && digits(text, date + 7, 2)) {
+                int time = date + 9;
+                if (at(text, time, '.') && time + 1 < text.length() && isDigit(text.charAt(time + 1))) {
+                    int fraction = digitRun(text, time + 1);
+                    int end = matchZone(text, fraction);
+                    if (end > 0) {
+                        return end;
+                    }
+                }
+                int end = matchZone(text, time);
+                if (end > 0) {
+                    return end;
+                }
+            }
+            if (isBoundary(text, date)) {
+                return date;
+            }
+        }
+
+        // Epoch seconds or milliseconds
+        int digitsLength = digitRun(text, p) - p;
+        if (digitsLength >= 10 && digitsLength <= 13 && isBoundary(text, p + digitsLength)) {
+            return p + digitsLength;
+        }
+        return -1;
+    }
+
+    /**
+     * Matches an optional zone followed by a word boundary.
+     *
+     * @return exclusive end, or -1
+     */
+    private static int matchZone(String text, int p) {
+        if (at(text, p, 'Z') && isBoundary(text, p + 1)) {
+            return p + 1;
+        }
+        if ((at(text, p, '+') || at(text, p, '-')) && digits(text, p + 1, 2) && at(text, p + 3, ':')
+                && digits(text, p + 4, 2) && isBoundary(text, p + 6)) {
+            return p + 6;
+        }
+        return isBoundary(text, p) ? p : -1;
+    }
+
+    /**
+     * Whether the number at [start, end) is directly enclosed in backticks,
+     * ignoring whitespace.
+     */
+    static boolean isWrappedInBackticks(String text, int start, int end) {
+        int backtickStart = -1;
+        for (int i = start - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            if (c == '`') {
+                backtickStart = i;
+                break;
+            } else if (!Character.isWhitespace(c)) {
+                break;
+            }
+        }
+
+        if (backtickStart == -1) {
+            return false;
+        }
+
+        for (int i = end; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '`') {
+                return true;
+            } else if (!Character.isWhitespace(c)) {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Whether the number at [start, end) is enclosed in {@code **}, ignoring
+     * whitespace and further asterisks.
+     */
+    static boolean isWrappedInBold(String text, int start, int end) {
+        int boldStart = -1;
+        for (int i = start - 1; i >= 1; i--) {
+            char c = text.charAt(i);
+            if (c == '*' && text.charAt(i - 1) == '*') {
+                boldStart = i - 1;
+                break;
+            } else if (!Character.isWhitespace(c) && c != '*') {
+                break;
+            }
+        }
+
+        if (boldStart == -1) {
+            return false;
+        }
+
+        for (int i = end; i < text.length() - 1; i++) {
+            char c = text.charAt(i);
+            if (c == '*' && text.charAt(i + 1) == '*') {
+                return true;
+            } else if (!Character.isWhitespace(c) && c != '*') {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    private static int digitRun(String text, int p) {
+        int i = p;
+        while (i < text.length() && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean digits(String text, int p, int count) {
+        if (p + count > text.length()) {
+            return false;
+        }
+        for (int i = p; i < p + count; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean at(String text, int p, char c) {
+        return p < text.length() && text.charAt(p) == c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Same word boundary test as {@code \b} in {@link java.util.regex.Pattern}.
+     */
+    private static boolean isBoundary(String text, int p) {
+        boolean before = p > 0 && isWord(text.charAt(p - 1));
+        boolean after = p < text.length() && isWord(text.charAt(p));
+        return before != after;
+    }
+
+    private static boolean isWord(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+}
@@ -1,21 +1,29 @@
 package org.example.code.checker.checker.markdown.task.rule;
 
+import org.commonmark.node.Heading;
 import org.example.code.checker.checker.common.BaseCheckRule;
 import org.example.code.checker.checker.common.CheckContext;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.NodeRule;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Optional;
-
-import static org.example.code.checker.checker.markdown.task.rule.MarkdownCheckerUtils.*;
+import java.util.Set;
 
 /**
  * Rule for checking section order: Title -> Example Usage -> Argument Reference -> Attribute Reference
+ * <p>
+ * Visits the headings of the document, see {@link NodeRule}.
  */
-public class SectionOrderRule extends BaseCheckRule {
+public class SectionOrderRule extends BaseCheckRule implements NodeRule {
+
+    private static final Set<MdNodeType> NODE_TYPES = EnumSet.of(MdNodeType.HEADING);
 
     private static class SectionConfig {
         final int level;
@@ -49,35 +57,75 @@ public class SectionOrderRule extends BaseCheckRule {
     );
 
     @Override
-    public List<CheckError> check(CheckContext context) {
-        List<CheckError> errors = new ArrayList<>();
-        TreeNode<MdAstNode> document = context.getDocument();
-
-        // Find all required sections
-        List<SectionInfo> foundSections = new ArrayList<>();
-        for (SectionConfig config : SECTIONS) {
-            Optional<TreeNode<MdAstNode>> heading = findHeadingByLevelAndText(document, config.level, config.text);
-            if (heading.isEmpty()) {
-                errors.add(createError(context, config.errorCode,
-                        "Document is missing required " + config.description,
-                        null, null, "DOCUMENT"));
-                return errors; // If any section is missing, skip order check
+    public Set<MdNodeType> getNodeTypes() {
+        return NODE_TYPES;
+    }
+
+    @Override
+    public Visitor newVisitor(CheckContext context) {
+        return new SectionVisitor(context);
+    }
+
+    /**
+     * Collects the first heading of each required section while the document
+     * is walked, then checks that all are present and in order.
+     */
+    private final class SectionVisitor implements Visitor {
+        private final CheckContext context;
+        private final DocumentIndex index;
+
+        /**
+         * First heading found for each entry of {@link #SECTIONS}.
+         */
+        private final List<TreeNode<MdAstNode>> headings = new ArrayList<>(Collections.nCopies(SECTIONS.size(), null));
+
+        SectionVisitor(CheckContext context) {
+            this.context = context;
+            this.index = DocumentIndex.of(context.getDocument());
+        }
+
+        @Override
+        public void visit(TreeNode<MdAstNode> node, List<CheckError> errors) {
+            if (!(node.getData().getCommonMarkNode() instanceof Heading)) {
+                return;
+            }
+            int level = ((Heading) node.getData().getCommonMarkNode()).getLevel();
+            for (int i = 0; i < SECTIONS.size(); i++) {
+                SectionConfig config = SECTIONS.get(i);
+                if (headings.get(i) == null && config.level == level
+                        && (config.text == null || config.text.equalsIgnoreCase(index.headingText(node)))) {
+                    headings.set(i, node);
+                }
             }
-            foundSections.add(new SectionInfo(config, heading.get()));
         }
 
-        // Check section order
-        checkSectionsOrder(foundSections, document, context, errors);
+        @Override
+        public void finish(List<CheckError> errors) {
+            // Find all required sections
+            List<SectionInfo> foundSections = new ArrayList<>();
+            for (int i = 0; i < SECTIONS.size(); i++) {
+                SectionConfig config = SECTIONS.get(i);
+                if (headings.get(i) == null) {
+                    errors.add(error(context, config.errorCode)
+                            .message("Document is missing required %s", config.description)
+                            .nodeType("DOCUMENT")
+                            .build());
+                    return; // If any section is missing, skip order check
+                }
+                foundSections.add(new SectionInfo(config, headings.get(i)));
+            }
 
-        return errors;
+            // Check section order
+            checkSectionsOrder(foundSections, index, context, errors);
+        }
     }
 
-    private void checkSectionsOrder(List<SectionInfo> sections, TreeNode<MdAstNode> document,
+    private void checkSectionsOrder(List<SectionInfo> sections, DocumentIndex index,
                                     CheckContext context, List<CheckError> errors) {
         // Get positions of all sections
         List<Integer> positions = new ArrayList<>();
         for (SectionInfo section : sections) {
-            positions.add(getNodePosition(document, section.node));
+            positions.add(index.positionOf(section.node));
         }
 
         // Check order between adjacent sections
@@ -95,11 +143,12 @@ public class SectionOrderRule extends BaseCheckRule {
         String currentName = current.config.text != null ? current.config.text : "Title";
         String nextName = next.config.text != null ? next.config.text : "Title";
 
-        errors.add(createError(context, "InvalidSectionOrder",
-                String.format("Section order is incorrect. %s must come before %s", currentName, nextName),
-                current.node.getData() != null ? current.node.getData().getSourceRange() : null,
-                current.node.getData() != null ? current.node.getData().getNodeId() : null,
-                "HEADING"));
+        errors.add(error(context, "InvalidSectionOrder")
+                .message("Section order is incorrect. %s must come before %s", currentName, nextName)
+                .sourceRange(current.node.getData() != null ? current.node.getData().getSourceRange() : null)
+                .nodeId(current.node.getData() != null ? current.node.getData().getNodeId() : null)
+                .nodeType("HEADING")
+                .build());
     }
 
     @Override
@@ -12,6 +12,10 @@ import java.util.List;
  */
 public class StructureChecker extends RuleBasedChecker {
 
+    private final List<CheckRule> rules = List.of(
+            new SectionOrderRule(),
+            new LineFormattingRule());
+
     @Override
     protected String getCheckerName() {
         return "StructureChecker";
@@ -19,9 +23,7 @@ public class StructureChecker extends RuleBasedChecker {
 
     @Override
     protected List<CheckRule> getRules() {
-        return List.of(
-                new SectionOrderRule(),
-                new LineFormattingRule());
+        return rules;
     }
 
 }
@@ -1,5 +1,8 @@
 package org.example.code.checker.checker.markdown.task.structure.arguments;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public class Argument {
@@ -8,7 +11,11 @@ public class Argument {
     private List<String> tags;
     private String description;
 
-    public Argument(String name, List<String> tags, String description) {
+    @JsonCreator
+    public Argument(
+            @JsonProperty("name") String name,
+            @JsonProperty("tags") List<String> tags,
+            @JsonProperty("description") String description) {
         this.name = name;
         this.tags = tags;
         this.description = description;
@@ -1,5 +1,8 @@
 package org.example.code.checker.checker.markdown.task.structure.arguments;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public class ArgumentList {
@@ -8,7 +11,11 @@ public class ArgumentList {
     private String description;
     private List<Argument> arguments;
 
-    public ArgumentList(String title, String description, List<Argument> arguments) {
+    @JsonCreator
+    public ArgumentList(
+            @JsonProperty("title") String title,
+            @JsonProperty("description") String description,
+            @JsonProperty("arguments") List<Argument> arguments) {
         this.title = title;
         this.description = description;
         this.arguments = arguments;
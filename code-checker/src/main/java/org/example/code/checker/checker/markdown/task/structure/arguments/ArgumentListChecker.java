@@ -2,17 +2,18 @@ package org.example.code.checker.checker.markdown.task.structure.arguments;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.commonmark.node.Heading;
 import org.example.code.checker.checker.Checker;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 public class ArgumentListChecker extends Checker {
@@ -25,12 +26,33 @@ public class ArgumentListChecker extends Checker {
             "^([\\w_]+)\\s*-\\s*\\(([^)]+)\\)\\s*(.*)$",
             Pattern.DOTALL);
 
+    private final PatternRegistry patterns;
+
+    private final Pattern tagsPattern;
+
+    private final Pattern tagsWithoutDashPattern;
+
+    public ArgumentListChecker() {
+        this(PatternRegistry.defaults());
+    }
+
+    public ArgumentListChecker(PatternRegistry patterns) {
+        this.patterns = patterns;
+        this.tagsPattern = patterns.get(PatternRegistry.ARGUMENT_TAGS);
+        this.tagsWithoutDashPattern = patterns.get(PatternRegistry.ARGUMENT_TAGS_WITHOUT_DASH);
+    }
+
+    @Override
+    public String getFingerprint() {
+        return super.getFingerprint() + patterns.getFingerprint();
+    }
+
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext context) {
         List<CheckError> errors = new ArrayList<>();
 
         // Get originalDocument from input
-        TaskData<?> documentData = input.get("originalDocument");
+        TaskData<?> documentData = context.get("originalDocument");
         if (documentData == null) {
             throw new IllegalArgumentException("Missing required input: originalDocument");
         }
@@ -39,36 +61,30 @@ public class ArgumentListChecker extends Checker {
         TreeNode<MdAstNode> document = (TreeNode<MdAstNode>) documentData.getPayload();
 
         // Get fileId for error reporting (optional)
-        TaskData<?> fileIdData = input.get("fileId");
+        TaskData<?> fileIdData = context.get("fileId");
         String fileId = fileIdData != null ? (String) fileIdData.getPayload() : null;
 
         // Find "Argument Reference" heading (level 2)
-        Optional<TreeNode<MdAstNode>> argumentHeading = findHeadingByLevelAndText(document, 2, REQUIRED_TITLE);
+        DocumentIndex index = DocumentIndex.of(document);
+        Optional<TreeNode<MdAstNode>> argumentHeading = index.findHeading(2, REQUIRED_TITLE);
 
         if (argumentHeading.isEmpty()) {
-            String message = buildErrorMessage(
-                    "ArgumentListChecker.MissingArgumentReference",
-                    "Document is missing required 'Argument Reference' section",
-                    fileId,
-                    null,
-                    null,
-                    "DOCUMENT");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ArgumentListChecker.MissingArgumentReference")
+                    .message("Document is missing required 'Argument Reference' section")
+                    .fileId(fileId)
+                    .nodeType("DOCUMENT")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
-        // Find the next heading of the same level (level 2) after Argument Reference heading
-        TreeNode<MdAstNode> argumentNode = argumentHeading.get();
-        TreeNode<MdAstNode> nextSameLevelHeading = findNextHeading(argumentNode, 2);
-
         // Collect all nodes from Argument Reference heading to next same-level heading
         // (excluding next heading)
-        List<TreeNode<MdAstNode>> argumentSection = collectNodesBetween(argumentNode, nextSameLevelHeading);
+        TreeNode<MdAstNode> argumentNode = argumentHeading.get();
+        List<TreeNode<MdAstNode>> argumentSection = index.section(argumentNode, 2);
 
         // Extract title, description, and arguments
         String title = extractTextFromNode(argumentNode);
@@ -99,15 +115,11 @@ public class ArgumentListChecker extends Checker {
 
         // Validate description
         if (description == null) {
-            String message = buildErrorMessage(
-                    "ArgumentListChecker.MissingDescription",
-                    String.format("Argument Reference section must have description: '%s'", REQUIRED_DESCRIPTION),
-                    fileId,
-                    null,
-                    null,
-                    "ARGUMENT_REFERENCE");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ArgumentListChecker.MissingDescription")
+                    .message("Argument Reference section must have description: '%s'", REQUIRED_DESCRIPTION)
+                    .fileId(fileId)
+                    .nodeType("ARGUMENT_REFERENCE")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
@@ -128,15 +140,11 @@ public class ArgumentListChecker extends Checker {
         if (listNode != null) {
             arguments = extractArgumentsFromList(listNode, fileId, errors);
         } else {
-            String message = buildErrorMessage(
-                    "ArgumentListChecker.MissingArgumentList",
-                    "Argument Reference section must contain a list of arguments",
-                    fileId,
-                    null,
-                    null,
-                    "ARGUMENT_REFERENCE");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ArgumentListChecker.MissingArgumentList")
+                    .message("Argument Reference section must contain a list of arguments")
+                    .fileId(fileId)
+                    .nodeType("ARGUMENT_REFERENCE")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
@@ -150,8 +158,8 @@ public class ArgumentListChecker extends Checker {
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -196,15 +204,13 @@ public class ArgumentListChecker extends Checker {
         // Find the first paragraph in the list item
         TreeNode<MdAstNode> paragraph = findFirstParagraph(listItem);
         if (paragraph == null) {
-            String message = buildErrorMessage(
-                    "ArgumentListChecker.MissingParagraph",
-                    "List item must contain a paragraph with argument definition",
-                    fileId,
-                    listItem.getData() != null ? listItem.getData().getSourceRange() : null,
-                    listItem.getData() != null ? listItem.getData().getNodeId() : null,
-                    "LIST_ITEM");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ArgumentListChecker.MissingParagraph")
+                    .message("List item must contain a paragraph with argument definition")
+                    .fileId(fileId)
+                    .sourceRange(listItem.getData() != null ? listItem.getData().getSourceRange() : null)
+                    .nodeId(listItem.getData() != null ? listItem.getData().getNodeId() : null)
+                    .nodeType("LIST_ITEM")
                     .severity(CheckError.Severity.ERROR)
                     .build());
             return null;
@@ -213,15 +219,13 @@ public class ArgumentListChecker extends Checker {
         // Extract name from first CODE node
         String name = extractCodeFromNode(paragraph);
         if (name == null || name.trim().isEmpty()) {
-            String message = buildErrorMessage(
-                    "ArgumentListChecker.MissingArgumentName",
-                    "Argument must start with a code block containing the parameter name",
-                    fileId,
-                    paragraph.getData() != null ? paragraph.getData().getSourceRange() : null,
-                    paragraph.getData() != null ? paragraph.getData().getNodeId() : null,
-                    "PARAGRAPH");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ArgumentListChecker.MissingArgumentName")
+                    .message("Argument must start with a code block containing the parameter name")
+                    .fileId(fileId)
+                    .sourceRange(paragraph.getData() != null ? paragraph.getData().getSourceRange() : null)
+                    .nodeId(paragraph.getData() != null ? paragraph.getData().getNodeId() : null)
+                    .nodeType("PARAGRAPH")
                     .severity(CheckError.Severity.ERROR)
                     .build());
             return null;
@@ -238,8 +242,7 @@ public class ArgumentListChecker extends Checker {
         }
 
         // Extract tags and description
-        Matcher matcher = Pattern.compile("^\\s*-\\s*\\(([^)]+)\\)\\s*(.*)$", Pattern.DOTALL)
-                .matcher(remainingText);
+        Matcher matcher = tagsPattern.matcher(remainingText);
         
         if (matcher.matches()) {
             String tagsStr = matcher.group(1).trim();
@@ -252,8 +255,7 @@ public class ArgumentListChecker extends Checker {
         } else {
             // Try to parse without the dash pattern
             // Sometimes format might be: name (tags) description
-            Matcher altMatcher = Pattern.compile("^\\s*\\(([^)]+)\\)\\s*(.*)$", Pattern.DOTALL)
-                    .matcher(remainingText);
+            Matcher altMatcher = tagsWithoutDashPattern.matcher(remainingText);
             if (altMatcher.matches()) {
                 String tagsStr = altMatcher.group(1).trim();
                 String description = altMatcher.group(2).trim();
@@ -261,16 +263,14 @@ public class ArgumentListChecker extends Checker {
                 return new Argument(name.trim(), tags, description);
             } else {
                 // Invalid argument format
-                String message = buildErrorMessage(
-                        "ArgumentListChecker.InvalidArgumentFormat",
-                        String.format("Invalid argument format. Expected: 'name - (tags) description'. Found: %s", 
-                                fullText.length() > 100 ? fullText.substring(0, 100) + "..." : fullText),
-                        fileId,
-                        paragraph.getData() != null ? paragraph.getData().getSourceRange() : null,
-                        paragraph.getData() != null ? paragraph.getData().getNodeId() : null,
-                        "PARAGRAPH");
                 errors.add(CheckError.builder()
-                        .message(message)
+                        .ruleId("ArgumentListChecker.InvalidArgumentFormat")
+                        .message("Invalid argument format. Expected: 'name - (tags) description'. Found: %s",
+                                fullText.length() > 100 ? fullText.substring(0, 100) + "..." : fullText)
+                        .fileId(fileId)
+                        .sourceRange(paragraph.getData() != null ? paragraph.getData().getSourceRange() : null)
+                        .nodeId(paragraph.getData() != null ? paragraph.getData().getNodeId() : null)
+                        .nodeType("PARAGRAPH")
                         .severity(CheckError.Severity.ERROR)
                         .build());
                 return null;
@@ -395,85 +395,6 @@ public class ArgumentListChecker extends Checker {
     }
 
 
-    /**
-     * Finds a heading node by level and text content.
-     */
-    private Optional<TreeNode<MdAstNode>> findHeadingByLevelAndText(TreeNode<MdAstNode> document, int level,
-            String text) {
-        List<TreeNode<MdAstNode>> headingNodes = document.query()
-                .all()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.HEADING)
-                .list();
-
-        return headingNodes.stream()
-                .filter(node -> {
-                    MdAstNode data = node.getData();
-                    Heading heading = (Heading) data.getCommonMarkNode();
-                    if (heading == null || heading.getLevel() != level) {
-                        return false;
-                    }
-                    if (text != null) {
-                        String headingText = extractTextFromNode(node);
-                        return headingText != null && headingText.trim().equalsIgnoreCase(text);
-                    }
-                    return true;
-                })
-                .findFirst();
-    }
-
-    /**
-     * Finds the next heading node after the given node.
-     */
-    private TreeNode<MdAstNode> findNextHeading(TreeNode<MdAstNode> startNode, Integer level) {
-        TreeNode<MdAstNode> parent = startNode.getParent();
-        if (parent == null) {
-            return null;
-        }
-
-        List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-        int startIndex = siblings.indexOf(startNode);
-
-        for (int i = startIndex + 1; i < siblings.size(); i++) {
-            MdAstNode siblingData = siblings.get(i).getData();
-            if (siblingData.getNodeType() == MdNodeType.HEADING) {
-                if (level == null) {
-                    return siblings.get(i);
-                } else {
-                    Heading heading = (Heading) siblingData.getCommonMarkNode();
-                    if (heading != null && heading.getLevel() == level) {
-                        return siblings.get(i);
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Collects all nodes between startNode and endNode (excluding endNode).
-     */
-    private List<TreeNode<MdAstNode>> collectNodesBetween(TreeNode<MdAstNode> startNode,
-            TreeNode<MdAstNode> endNode) {
-        List<TreeNode<MdAstNode>> content = new ArrayList<>();
-        TreeNode<MdAstNode> parent = startNode.getParent();
-
-        if (parent != null) {
-            List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-            int startIndex = siblings.indexOf(startNode);
-            int endIndex = endNode != null ? siblings.indexOf(endNode) : siblings.size();
-
-            for (int i = startIndex; i < endIndex; i++) {
-                content.add(siblings.get(i));
-            }
-        } else {
-            content.add(startNode);
-        }
-
-        return content;
-    }
-
     /**
      * Extracts text content from a node by traversing its children.
      */
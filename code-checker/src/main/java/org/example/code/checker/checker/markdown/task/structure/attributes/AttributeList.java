@@ -1,5 +1,8 @@
 package org.example.code.checker.checker.markdown.task.structure.attributes;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public class AttributeList {
@@ -8,7 +11,11 @@ public class AttributeList {
     private String description;
     private List<Attribute> attributes;
 
-    public AttributeList(String title, String description, List<Attribute> attributes) {
+    @JsonCreator
+    public AttributeList(
+            @JsonProperty("title") String title,
+            @JsonProperty("description") String description,
+            @JsonProperty("attributes") List<Attribute> attributes) {
         this.title = title;
         this.description = description;
         this.attributes = attributes;
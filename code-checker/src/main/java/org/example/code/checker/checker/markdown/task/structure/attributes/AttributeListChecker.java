@@ -2,28 +2,50 @@ package org.example.code.checker.checker.markdown.task.structure.attributes;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
-import org.commonmark.node.Heading;
 import org.example.code.checker.checker.Checker;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 public class AttributeListChecker extends Checker {
     
     private static final String REQUIRED_TITLE = "Attribute Reference";
 
+    private final PatternRegistry patterns;
+
+    private final Pattern tagsPattern;
+
+    private final Pattern tagsWithoutDashPattern;
+
+    public AttributeListChecker() {
+        this(PatternRegistry.defaults());
+    }
+
+    public AttributeListChecker(PatternRegistry patterns) {
+        this.patterns = patterns;
+        this.tagsPattern = patterns.get(PatternRegistry.ATTRIBUTE_TAGS);
+        this.tagsWithoutDashPattern = patterns.get(PatternRegistry.ATTRIBUTE_TAGS_WITHOUT_DASH);
+    }
+
+    @Override
+    public String getFingerprint() {
+        return super.getFingerprint() + patterns.getFingerprint();
+    }
+
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext context) {
         List<CheckError> errors = new ArrayList<>();
 
         // Get originalDocument from input
-        TaskData<?> documentData = input.get("originalDocument");
+        TaskData<?> documentData = context.get("originalDocument");
         if (documentData == null) {
             throw new IllegalArgumentException("Missing required input: originalDocument");
         }
@@ -32,36 +54,30 @@ public class AttributeListChecker extends Checker {
         TreeNode<MdAstNode> document = (TreeNode<MdAstNode>) documentData.getPayload();
 
         // Get fileId for error reporting (optional)
-        TaskData<?> fileIdData = input.get("fileId");
+        TaskData<?> fileIdData = context.get("fileId");
         String fileId = fileIdData != null ? (String) fileIdData.getPayload() : null;
 
         // Find "Attribute Reference" heading (level 2)
-        Optional<TreeNode<MdAstNode>> attributeHeading = findHeadingByLevelAndText(document, 2, REQUIRED_TITLE);
+        DocumentIndex index = DocumentIndex.of(document);
+        Optional<TreeNode<MdAstNode>> attributeHeading = index.findHeading(2, REQUIRED_TITLE);
 
         if (attributeHeading.isEmpty()) {
-            String message = buildErrorMessage(
-                    "AttributeListChecker.MissingAttributeReference",
-                    "Document is missing required 'Attribute Reference' section",
-                    fileId,
-                    null,
-                    null,
-                    "DOCUMENT");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("AttributeListChecker.MissingAttributeReference")
+                    .message("Document is missing required 'Attribute Reference' section")
+                    .fileId(fileId)
+                    .nodeType("DOCUMENT")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
-        // Find the next heading of the same level (level 2) after Attribute Reference heading
-        TreeNode<MdAstNode> attributeNode = attributeHeading.get();
-        TreeNode<MdAstNode> nextSameLevelHeading = findNextHeading(attributeNode, 2);
-
         // Collect all nodes from Attribute Reference heading to next same-level heading
         // (excluding next heading)
-        List<TreeNode<MdAstNode>> attributeSection = collectNodesBetween(attributeNode, nextSameLevelHeading);
+        TreeNode<MdAstNode> attributeNode = attributeHeading.get();
+        List<TreeNode<MdAstNode>> attributeSection = index.section(attributeNode, 2);
 
         // Extract title, description, and attributes
         String title = extractTextFromNode(attributeNode);
@@ -109,15 +125,11 @@ public class AttributeListChecker extends Checker {
         if (listNode != null) {
             attributes = extractAttributesFromList(listNode, fileId, errors);
         } else {
-            String message = buildErrorMessage(
-                    "AttributeListChecker.MissingAttributeList",
-                    "Attribute Reference section must contain a list of attributes",
-                    fileId,
-                    null,
-                    null,
-                    "ATTRIBUTE_REFERENCE");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("AttributeListChecker.MissingAttributeList")
+                    .message("Attribute Reference section must contain a list of attributes")
+                    .fileId(fileId)
+                    .nodeType("ATTRIBUTE_REFERENCE")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
@@ -131,8 +143,8 @@ public class AttributeListChecker extends Checker {
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -177,15 +189,13 @@ public class AttributeListChecker extends Checker {
         // Find the first paragraph in the list item
         TreeNode<MdAstNode> paragraph = findFirstParagraph(listItem);
         if (paragraph == null) {
-            String message = buildErrorMessage(
-                    "AttributeListChecker.MissingParagraph",
-                    "List item must contain a paragraph with attribute definition",
-                    fileId,
-                    listItem.getData() != null ? listItem.getData().getSourceRange() : null,
-                    listItem.getData() != null ? listItem.getData().getNodeId() : null,
-                    "LIST_ITEM");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("AttributeListChecker.MissingParagraph")
+                    .message("List item must contain a paragraph with attribute definition")
+                    .fileId(fileId)
+                    .sourceRange(listItem.getData() != null ? listItem.getData().getSourceRange() : null)
+                    .nodeId(listItem.getData() != null ? listItem.getData().getNodeId() : null)
+                    .nodeType("LIST_ITEM")
                     .severity(CheckError.Severity.ERROR)
                     .build());
             return null;
@@ -194,15 +204,13 @@ public class AttributeListChecker extends Checker {
         // Extract name from first CODE node
         String name = extractCodeFromNode(paragraph);
         if (name == null || name.trim().isEmpty()) {
-            String message = buildErrorMessage(
-                    "AttributeListChecker.MissingAttributeName",
-                    "Attribute must start with a code block containing the attribute name",
-                    fileId,
-                    paragraph.getData() != null ? paragraph.getData().getSourceRange() : null,
-                    paragraph.getData() != null ? paragraph.getData().getNodeId() : null,
-                    "PARAGRAPH");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("AttributeListChecker.MissingAttributeName")
+                    .message("Attribute must start with a code block containing the attribute name")
+                    .fileId(fileId)
+                    .sourceRange(paragraph.getData() != null ? paragraph.getData().getSourceRange() : null)
+                    .nodeId(paragraph.getData() != null ? paragraph.getData().getNodeId() : null)
+                    .nodeType("PARAGRAPH")
                     .severity(CheckError.Severity.ERROR)
                     .build());
             return null;
@@ -219,8 +227,7 @@ public class AttributeListChecker extends Checker {
         }
 
         // Extract tags and description
-        Pattern pattern = Pattern.compile("^\\s*-\\s*\\(([^)]+)\\)\\s*(.*)$", Pattern.DOTALL);
-        java.util.regex.Matcher matcher = pattern.matcher(remainingText);
+        java.util.regex.Matcher matcher = tagsPattern.matcher(remainingText);
         
         if (matcher.matches()) {
             String tagsStr = matcher.group(1).trim();
@@ -233,8 +240,7 @@ public class AttributeListChecker extends Checker {
         } else {
             // Try to parse without the dash pattern
             // Sometimes format might be: name (tags) description
-            Pattern altPattern = Pattern.compile("^\\s*\\(([^)]+)\\)\\s*(.*)$", Pattern.DOTALL);
-            java.util.regex.Matcher altMatcher = altPattern.matcher(remainingText);
+            java.util.regex.Matcher altMatcher = tagsWithoutDashPattern.matcher(remainingText);
             if (altMatcher.matches()) {
                 String tagsStr = altMatcher.group(1).trim();
                 String description = altMatcher.group(2).trim();
@@ -242,16 +248,14 @@ public class AttributeListChecker extends Checker {
                 return new Attribute(name.trim(), tags, description);
             } else {
                 // Invalid attribute format
-                String message = buildErrorMessage(
-                        "AttributeListChecker.InvalidAttributeFormat",
-                        String.format("Invalid attribute format. Expected: 'name - (tags) description'. Found: %s", 
-                                fullText.length() > 100 ? fullText.substring(0, 100) + "..." : fullText),
-                        fileId,
-                        paragraph.getData() != null ? paragraph.getData().getSourceRange() : null,
-                        paragraph.getData() != null ? paragraph.getData().getNodeId() : null,
-                        "PARAGRAPH");
                 errors.add(CheckError.builder()
-                        .message(message)
+                        .ruleId("AttributeListChecker.InvalidAttributeFormat")
+                        .message("Invalid attribute format. Expected: 'name - (tags) description'. Found: %s",
+                                fullText.length() > 100 ? fullText.substring(0, 100) + "..." : fullText)
+                        .fileId(fileId)
+                        .sourceRange(paragraph.getData() != null ? paragraph.getData().getSourceRange() : null)
+                        .nodeId(paragraph.getData() != null ? paragraph.getData().getNodeId() : null)
+                        .nodeType("PARAGRAPH")
                         .severity(CheckError.Severity.ERROR)
                         .build());
                 return null;
@@ -375,85 +379,6 @@ public class AttributeListChecker extends Checker {
         }
     }
 
-    /**
-     * Finds a heading node by level and text content.
-     */
-    private Optional<TreeNode<MdAstNode>> findHeadingByLevelAndText(TreeNode<MdAstNode> document, int level,
-            String text) {
-        List<TreeNode<MdAstNode>> headingNodes = document.query()
-                .all()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.HEADING)
-                .list();
-
-        return headingNodes.stream()
-                .filter(node -> {
-                    MdAstNode data = node.getData();
-                    Heading heading = (Heading) data.getCommonMarkNode();
-                    if (heading == null || heading.getLevel() != level) {
-                        return false;
-                    }
-                    if (text != null) {
-                        String headingText = extractTextFromNode(node);
-                        return headingText != null && headingText.trim().equalsIgnoreCase(text);
-                    }
-                    return true;
-                })
-                .findFirst();
-    }
-
-    /**
-     * Finds the next heading node after the given node.
-     */
-    private TreeNode<MdAstNode> findNextHeading(TreeNode<MdAstNode> startNode, Integer level) {
-        TreeNode<MdAstNode> parent = startNode.getParent();
-        if (parent == null) {
-            return null;
-        }
-
-        List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-        int startIndex = siblings.indexOf(startNode);
-
-        for (int i = startIndex + 1; i < siblings.size(); i++) {
-            MdAstNode siblingData = siblings.get(i).getData();
-            if (siblingData.getNodeType() == MdNodeType.HEADING) {
-                if (level == null) {
-                    return siblings.get(i);
-                } else {
-                    Heading heading = (Heading) siblingData.getCommonMarkNode();
-                    if (heading != null && heading.getLevel() == level) {
-                        return siblings.get(i);
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Collects all nodes between startNode and endNode (excluding endNode).
-     */
-    private List<TreeNode<MdAstNode>> collectNodesBetween(TreeNode<MdAstNode> startNode,
-            TreeNode<MdAstNode> endNode) {
-        List<TreeNode<MdAstNode>> content = new ArrayList<>();
-        TreeNode<MdAstNode> parent = startNode.getParent();
-
-        if (parent != null) {
-            List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-            int startIndex = siblings.indexOf(startNode);
-            int endIndex = endNode != null ? siblings.indexOf(endNode) : siblings.size();
-
-            for (int i = startIndex; i < endIndex; i++) {
-                content.add(siblings.get(i));
-            }
-        } else {
-            content.add(startNode);
-        }
-
-        return content;
-    }
-
     /**
      * Extracts text content from a node by traversing its children.
      */
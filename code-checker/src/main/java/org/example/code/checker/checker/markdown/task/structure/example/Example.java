@@ -1,5 +1,8 @@
 package org.example.code.checker.checker.markdown.task.structure.example;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public class Example {
@@ -8,7 +11,10 @@ public class Example {
         private String name;
         private String code;
 
-        public ExampleItem(String name, String code) {
+        @JsonCreator
+        public ExampleItem(
+                @JsonProperty("name") String name,
+                @JsonProperty("code") String code) {
             this.name = name;
             this.code = code;
         }
@@ -24,7 +30,8 @@ public class Example {
 
     private List<ExampleItem> exampleItems;
 
-    public Example(List<ExampleItem> exampleItems) {
+    @JsonCreator
+    public Example(@JsonProperty("exampleItems") List<ExampleItem> exampleItems) {
         this.exampleItems = exampleItems;
     }
 
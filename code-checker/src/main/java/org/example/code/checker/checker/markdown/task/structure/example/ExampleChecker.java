@@ -2,25 +2,26 @@ package org.example.code.checker.checker.markdown.task.structure.example;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.commonmark.node.Heading;
 import org.example.code.checker.checker.Checker;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 public class ExampleChecker extends Checker {
     
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext context) {
         List<CheckError> errors = new ArrayList<>();
 
         // Get originalDocument from input
-        TaskData<?> documentData = input.get("originalDocument");
+        TaskData<?> documentData = context.get("originalDocument");
         if (documentData == null) {
             throw new IllegalArgumentException("Missing required input: originalDocument");
         }
@@ -29,36 +30,30 @@ public class ExampleChecker extends Checker {
         TreeNode<MdAstNode> document = (TreeNode<MdAstNode>) documentData.getPayload();
 
         // Get fileId for error reporting (optional)
-        TaskData<?> fileIdData = input.get("fileId");
+        TaskData<?> fileIdData = context.get("fileId");
         String fileId = fileIdData != null ? (String) fileIdData.getPayload() : null;
 
         // Find "Example Usage" heading (level 2)
-        Optional<TreeNode<MdAstNode>> exampleHeading = findHeadingByLevelAndText(document, 2, "Example Usage");
+        DocumentIndex index = DocumentIndex.of(document);
+        Optional<TreeNode<MdAstNode>> exampleHeading = index.findHeading(2, "Example Usage");
 
         if (exampleHeading.isEmpty()) {
-            String message = buildErrorMessage(
-                    "ExampleChecker.MissingExampleUsage",
-                    "Document is missing required 'Example Usage' section",
-                    fileId,
-                    null,
-                    null,
-                    "DOCUMENT");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ExampleChecker.MissingExampleUsage")
+                    .message("Document is missing required 'Example Usage' section")
+                    .fileId(fileId)
+                    .nodeType("DOCUMENT")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
-        // Find the next heading of the same level (level 2) after Example Usage heading
-        TreeNode<MdAstNode> exampleNode = exampleHeading.get();
-        TreeNode<MdAstNode> nextSameLevelHeading = findNextHeading(exampleNode, 2);
-
         // Collect all nodes from Example Usage heading to next same-level heading
         // (excluding next heading)
-        List<TreeNode<MdAstNode>> exampleUsageSection = collectNodesBetween(exampleNode, nextSameLevelHeading);
+        TreeNode<MdAstNode> exampleNode = exampleHeading.get();
+        List<TreeNode<MdAstNode>> exampleUsageSection = index.section(exampleNode, 2);
 
         // Extract example items from the section
         List<Example.ExampleItem> exampleItems = extractExampleItems(exampleUsageSection, fileId, errors);
@@ -69,8 +64,8 @@ public class ExampleChecker extends Checker {
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -126,30 +121,27 @@ public class ExampleChecker extends Checker {
             if (isSingleExample) {
                 // Single example: no headings allowed at all
                 String headingText = extractTextFromNode(headingNode);
-                String message = buildErrorMessage(
-                        "ExampleChecker.SingleExampleWithHeading",
-                        String.format("Single example cannot have headings. Found level %d heading: %s", level, headingText),
-                        fileId,
-                        nodeData.getSourceRange(),
-                        nodeData.getNodeId(),
-                        "HEADING");
                 errors.add(CheckError.builder()
-                        .message(message)
+                        .ruleId("ExampleChecker.SingleExampleWithHeading")
+                        .message("Single example cannot have headings. Found level %d heading: %s", level, headingText)
+                        .fileId(fileId)
+                        .sourceRange(nodeData.getSourceRange())
+                        .nodeId(nodeData.getNodeId())
+                        .nodeType("HEADING")
                         .severity(CheckError.Severity.ERROR)
                         .build());
             } else {
                 // Multiple examples: only level 3 headings are allowed
                 if (level != 3) {
                     String headingText = extractTextFromNode(headingNode);
-                    String message = buildErrorMessage(
-                            "ExampleChecker.InvalidHeadingLevel",
-                            String.format("Multiple examples must use level 3 headings only. Found level %d heading: %s", level, headingText),
-                            fileId,
-                            nodeData.getSourceRange(),
-                            nodeData.getNodeId(),
-                            "HEADING");
                     errors.add(CheckError.builder()
-                            .message(message)
+                            .ruleId("ExampleChecker.InvalidHeadingLevel")
+                            .message("Multiple examples must use level 3 headings only. Found level %d heading: %s",
+                                    level, headingText)
+                            .fileId(fileId)
+                            .sourceRange(nodeData.getSourceRange())
+                            .nodeId(nodeData.getNodeId())
+                            .nodeType("HEADING")
                             .severity(CheckError.Severity.ERROR)
                             .build());
                 }
@@ -199,28 +191,24 @@ public class ExampleChecker extends Checker {
                 // For multiple examples, each code block (including the first) must be preceded by a level 3 heading
                 if (!isSingleExample && currentName == null && codeBlockIndex == 0) {
                     // First code block in multiple examples without a heading
-                    String message = buildErrorMessage(
-                            "ExampleChecker.MissingHeadingBeforeFirstExample",
-                            "Multiple examples require each example to be preceded by a level 3 heading",
-                            fileId,
-                            nodeData.getSourceRange(),
-                            nodeData.getNodeId(),
-                            "CODE_BLOCK");
                     errors.add(CheckError.builder()
-                            .message(message)
+                            .ruleId("ExampleChecker.MissingHeadingBeforeFirstExample")
+                            .message("Multiple examples require each example to be preceded by a level 3 heading")
+                            .fileId(fileId)
+                            .sourceRange(nodeData.getSourceRange())
+                            .nodeId(nodeData.getNodeId())
+                            .nodeType("CODE_BLOCK")
                             .severity(CheckError.Severity.ERROR)
                             .build());
                 } else if (!isSingleExample && currentName == null && codeBlockIndex > 0) {
                     // Subsequent code block without a heading
-                    String message = buildErrorMessage(
-                            "ExampleChecker.MissingHeadingBeforeExample",
-                            "Multiple examples require each example to be preceded by a level 3 heading",
-                            fileId,
-                            nodeData.getSourceRange(),
-                            nodeData.getNodeId(),
-                            "CODE_BLOCK");
                     errors.add(CheckError.builder()
-                            .message(message)
+                            .ruleId("ExampleChecker.MissingHeadingBeforeExample")
+                            .message("Multiple examples require each example to be preceded by a level 3 heading")
+                            .fileId(fileId)
+                            .sourceRange(nodeData.getSourceRange())
+                            .nodeId(nodeData.getNodeId())
+                            .nodeType("CODE_BLOCK")
                             .severity(CheckError.Severity.ERROR)
                             .build());
                 }
@@ -255,30 +243,22 @@ public class ExampleChecker extends Checker {
         // Validate structure consistency: multiple examples must have level 3 headings
         if (!isSingleExample && !hasHeadings) {
             // Multiple examples without headings - this is an error
-            String message = buildErrorMessage(
-                    "ExampleChecker.MultipleExamplesWithoutHeadings",
-                    "Multiple examples found but no level 3 headings. Each example must be preceded by a level 3 heading.",
-                    fileId,
-                    null,
-                    null,
-                    "EXAMPLE_USAGE");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ExampleChecker.MultipleExamplesWithoutHeadings")
+                    .message("Multiple examples found but no level 3 headings. Each example must be preceded by a level 3 heading.")
+                    .fileId(fileId)
+                    .nodeType("EXAMPLE_USAGE")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
 
         // Validate that at least one example was found
         if (exampleItems.isEmpty()) {
-            String message = buildErrorMessage(
-                    "ExampleChecker.NoExamples",
-                    "Example Usage section must contain at least one code block",
-                    fileId,
-                    null,
-                    null,
-                    "EXAMPLE_USAGE");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("ExampleChecker.NoExamples")
+                    .message("Example Usage section must contain at least one code block")
+                    .fileId(fileId)
+                    .nodeType("EXAMPLE_USAGE")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
@@ -286,110 +266,6 @@ public class ExampleChecker extends Checker {
         return exampleItems;
     }
 
-    /**
-     * Finds a heading node by level and text content.
-     *
-     * @param document The document root node
-     * @param level    The heading level (1-6)
-     * @param text     Text content to match (case-insensitive)
-     * @return Optional containing the found heading node, or empty if not found
-     */
-    private Optional<TreeNode<MdAstNode>> findHeadingByLevelAndText(TreeNode<MdAstNode> document, int level,
-            String text) {
-        List<TreeNode<MdAstNode>> headingNodes = document.query()
-                .all()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.HEADING)
-                .list();
-
-        return headingNodes.stream()
-                .filter(node -> {
-                    MdAstNode data = node.getData();
-                    Heading heading = (Heading) data.getCommonMarkNode();
-                    if (heading == null || heading.getLevel() != level) {
-                        return false;
-                    }
-                    if (text != null) {
-                        String headingText = extractHeadingText(node);
-                        return headingText != null && headingText.trim().equalsIgnoreCase(text);
-                    }
-                    return true;
-                })
-                .findFirst();
-    }
-
-    /**
-     * Finds the next heading node after the given node.
-     *
-     * @param startNode The starting node
-     * @param level     Optional heading level to match. If null, matches any heading level
-     * @return The next heading node, or null if not found
-     */
-    private TreeNode<MdAstNode> findNextHeading(TreeNode<MdAstNode> startNode, Integer level) {
-        TreeNode<MdAstNode> parent = startNode.getParent();
-        if (parent == null) {
-            return null;
-        }
-
-        List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-        int startIndex = siblings.indexOf(startNode);
-
-        for (int i = startIndex + 1; i < siblings.size(); i++) {
-            MdAstNode siblingData = siblings.get(i).getData();
-            if (siblingData.getNodeType() == MdNodeType.HEADING) {
-                if (level == null) {
-                    // Match any heading level
-                    return siblings.get(i);
-                } else {
-                    // Match specific level
-                    Heading heading = (Heading) siblingData.getCommonMarkNode();
-                    if (heading != null && heading.getLevel() == level) {
-                        return siblings.get(i);
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Collects all nodes between startNode and endNode (excluding endNode).
-     *
-     * @param startNode The starting node (inclusive)
-     * @param endNode   The ending node (exclusive). If null, collects until the end of parent's children
-     * @return List of nodes between startNode and endNode
-     */
-    private List<TreeNode<MdAstNode>> collectNodesBetween(TreeNode<MdAstNode> startNode,
-            TreeNode<MdAstNode> endNode) {
-        List<TreeNode<MdAstNode>> content = new ArrayList<>();
-        TreeNode<MdAstNode> parent = startNode.getParent();
-
-        if (parent != null) {
-            List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-            int startIndex = siblings.indexOf(startNode);
-            int endIndex = endNode != null ? siblings.indexOf(endNode) : siblings.size();
-
-            for (int i = startIndex; i < endIndex; i++) {
-                content.add(siblings.get(i));
-            }
-        } else {
-            // If no parent, just add the start node itself
-            content.add(startNode);
-        }
-
-        return content;
-    }
-
-    /**
-     * Extracts text content from a heading node.
-     */
-    private String extractHeadingText(TreeNode<MdAstNode> node) {
-        StringBuilder sb = new StringBuilder();
-        extractTextRecursive(node, sb);
-        return sb.toString().trim();
-    }
-
     /**
      * Extracts text content from a node by traversing its children.
      */
@@ -2,10 +2,13 @@ package org.example.code.checker.checker.markdown.task.structure.front.matter;
 
 import org.example.code.checker.checker.Checker;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.common.PatternRegistry;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.markdown.task.structure.front.matter.FrontMatter;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 import org.yaml.snakeyaml.Yaml;
 
@@ -26,16 +29,38 @@ public class FrontMatterChecker extends Checker {
             "description"
     );
 
-    private static final Pattern FRONT_MATTER_PATTERN = Pattern.compile(
-            "^---\\s*\\r?\\n([\\s\\S]*?)\\r?\\n---\\s*$",
-            Pattern.MULTILINE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final PatternRegistry patterns;
+
+    private final Pattern frontMatterPattern;
+
+    private final Pattern closingFencePattern;
+
+    private final Pattern descriptionPattern;
+
+    public FrontMatterChecker() {
+        this(PatternRegistry.defaults());
+    }
+
+    public FrontMatterChecker(PatternRegistry patterns) {
+        this.patterns = patterns;
+        this.frontMatterPattern = patterns.get(PatternRegistry.FRONT_MATTER_BLOCK);
+        this.closingFencePattern = patterns.get(PatternRegistry.FRONT_MATTER_CLOSING_FENCE);
+        this.descriptionPattern = patterns.get(PatternRegistry.FRONT_MATTER_DESCRIPTION);
+    }
+
+    @Override
+    public String getFingerprint() {
+        return super.getFingerprint() + patterns.getFingerprint();
+    }
 
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext context) {
         List<CheckError> errors = new ArrayList<>();
 
         // Get originalDocument from input
-        TaskData<?> documentData = input.get("originalDocument");
+        TaskData<?> documentData = context.get("originalDocument");
         if (documentData == null) {
             throw new IllegalArgumentException("Missing required input: originalDocument");
         }
@@ -44,30 +69,23 @@ public class FrontMatterChecker extends Checker {
         TreeNode<MdAstNode> document = (TreeNode<MdAstNode>) documentData.getPayload();
 
         // Get fileId for error reporting
-        TaskData<?> fileIdData = input.get("fileId");
+        TaskData<?> fileIdData = context.get("fileId");
         String fileId = fileIdData != null ? (String) fileIdData.getPayload() : null;
 
         // Find front matter node from document
-        Optional<TreeNode<MdAstNode>> frontMatterOpt = document.query()
-                .children()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.FRONT_MATTER)
-                .first();
+        Optional<TreeNode<MdAstNode>> frontMatterOpt = DocumentIndex.of(document)
+                .firstOfType(MdNodeType.FRONT_MATTER);
 
         if (frontMatterOpt.isEmpty()) {
-            String message = buildErrorMessage(
-                    "FrontMatterChecker.MissingFrontMatter",
-                    "Document is missing required FrontMatter section",
-                    fileId,
-                    null,
-                    null,
-                    "DOCUMENT");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("FrontMatterChecker.MissingFrontMatter")
+                    .message("Document is missing required FrontMatter section")
+                    .fileId(fileId)
+                    .nodeType("DOCUMENT")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -75,43 +93,39 @@ public class FrontMatterChecker extends Checker {
         MdAstNode nodeData = frontMatterNode.getData();
 
         if (nodeData == null || nodeData.getNodeType() != MdNodeType.FRONT_MATTER) {
-            String message = buildErrorMessage(
-                    "FrontMatterChecker.InvalidNodeType",
-                    "Expected FRONT_MATTER node type",
-                    fileId,
-                    nodeData != null ? nodeData.getSourceRange() : null,
-                    nodeData != null ? nodeData.getNodeId() : null,
-                    nodeData != null ? nodeData.getNodeType().name() : null);
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("FrontMatterChecker.InvalidNodeType")
+                    .message("Expected FRONT_MATTER node type")
+                    .fileId(fileId)
+                    .sourceRange(nodeData != null ? nodeData.getSourceRange() : null)
+                    .nodeId(nodeData != null ? nodeData.getNodeId() : null)
+                    .nodeType(nodeData != null ? nodeData.getNodeType().name() : null)
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
         // Extract YAML content from raw string
         String rawStr = nodeData.getRawStr();
         if (rawStr == null || rawStr.trim().isEmpty()) {
-            String message = buildErrorMessage(
-                    "FrontMatterChecker.EmptyFrontMatter",
-                    "Front matter content is empty",
-                    fileId,
-                    nodeData.getSourceRange(),
-                    nodeData.getNodeId(),
-                    "FRONT_MATTER");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("FrontMatterChecker.EmptyFrontMatter")
+                    .message("Front matter content is empty")
+                    .fileId(fileId)
+                    .sourceRange(nodeData.getSourceRange())
+                    .nodeId(nodeData.getNodeId())
+                    .nodeType("FRONT_MATTER")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
         // Extract YAML content (remove --- markers)
-        Matcher matcher = FRONT_MATTER_PATTERN.matcher(rawStr);
+        Matcher matcher = frontMatterPattern.matcher(rawStr);
         String yamlContent;
         if (matcher.find()) {
             yamlContent = matcher.group(1);
@@ -128,7 +142,7 @@ public class FrontMatterChecker extends Checker {
                         yamlContent = trimmed.substring(firstEnd + 1).trim();
                     }
                 } else {
-                    yamlContent = trimmed.substring(3).replaceFirst("---\\s*$", "").trim();
+                    yamlContent = closingFencePattern.matcher(trimmed.substring(3)).replaceFirst("").trim();
                 }
             } else {
                 yamlContent = trimmed;
@@ -147,15 +161,13 @@ public class FrontMatterChecker extends Checker {
             if (!frontMatterData.containsKey(requiredProperty) || 
                 frontMatterData.get(requiredProperty) == null ||
                 frontMatterData.get(requiredProperty).toString().trim().isEmpty()) {
-                String message = buildErrorMessage(
-                        "FrontMatterChecker.MissingProperty",
-                        String.format("Front matter is missing required property: %s", requiredProperty),
-                        fileId,
-                        nodeData.getSourceRange(),
-                        nodeData.getNodeId(),
-                        "FRONT_MATTER");
                 errors.add(CheckError.builder()
-                        .message(message)
+                        .ruleId("FrontMatterChecker.MissingProperty")
+                        .message("Front matter is missing required property: %s", requiredProperty)
+                        .fileId(fileId)
+                        .sourceRange(nodeData.getSourceRange())
+                        .nodeId(nodeData.getNodeId())
+                        .nodeType("FRONT_MATTER")
                         .severity(CheckError.Severity.ERROR)
                         .build());
             }
@@ -172,16 +184,14 @@ public class FrontMatterChecker extends Checker {
 
         if (!invalidProperties.isEmpty()) {
             String invalidPropsStr = String.join(", ", invalidProperties);
-            String message = buildErrorMessage(
-                    "FrontMatterChecker.InvalidProperties",
-                    String.format("Front matter contains invalid properties: %s. Only allowed properties are: %s",
-                            invalidPropsStr, String.join(", ", ALLOWED_PROPERTIES)),
-                    fileId,
-                    nodeData.getSourceRange(),
-                    nodeData.getNodeId(),
-                    "FRONT_MATTER");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("FrontMatterChecker.InvalidProperties")
+                    .message("Front matter contains invalid properties: %s. Only allowed properties are: %s",
+                            invalidPropsStr, String.join(", ", ALLOWED_PROPERTIES))
+                    .fileId(fileId)
+                    .sourceRange(nodeData.getSourceRange())
+                    .nodeId(nodeData.getNodeId())
+                    .nodeType("FRONT_MATTER")
                     .severity(CheckError.Severity.ERROR)
                     .build());
         }
@@ -192,17 +202,15 @@ public class FrontMatterChecker extends Checker {
             String description = descriptionObj.toString().trim();
             if (!description.isEmpty()) {
                 // Check if description starts with "Use/Using this resource" or "Use/Using this data source"
-                String normalizedDescription = description.replaceAll("\\s+", " ").trim();
-                if (!normalizedDescription.matches("(?i)^(Use|Using) this (resource|data source) to .*")) {
-                    String message = buildErrorMessage(
-                            "FrontMatterChecker.InvalidDescriptionFormat",
-                            "Description must start with 'Use this resource to', 'Using this resource to', 'Use this data source to', or 'Using this data source to'",
-                            fileId,
-                            nodeData.getSourceRange(),
-                            nodeData.getNodeId(),
-                            "FRONT_MATTER");
+                String normalizedDescription = WHITESPACE.matcher(description).replaceAll(" ").trim();
+                if (!descriptionPattern.matcher(normalizedDescription).matches()) {
                     errors.add(CheckError.builder()
-                            .message(message)
+                            .ruleId("FrontMatterChecker.InvalidDescriptionFormat")
+                            .message("Description must start with 'Use this resource to', 'Using this resource to', 'Use this data source to', or 'Using this data source to'")
+                            .fileId(fileId)
+                            .sourceRange(nodeData.getSourceRange())
+                            .nodeId(nodeData.getNodeId())
+                            .nodeType("FRONT_MATTER")
                             .severity(CheckError.Severity.ERROR)
                             .build());
                 }
@@ -215,8 +223,8 @@ public class FrontMatterChecker extends Checker {
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             // Still return the result for analysis
             output.add(new TaskData<>("frontMatterResult", result));
             return output;
@@ -1,5 +1,8 @@
 package org.example.code.checker.checker.markdown.task.structure.title;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public class Title {
@@ -8,7 +11,11 @@ public class Title {
     private String description;
     private List<String> otherParagraphs;
 
-    public Title(String title, String description, List<String> otherParagraphs) {
+    @JsonCreator
+    public Title(
+            @JsonProperty("title") String title,
+            @JsonProperty("description") String description,
+            @JsonProperty("otherParagraphs") List<String> otherParagraphs) {
         this.title = title;
         this.description = description;
         this.otherParagraphs = otherParagraphs;
@@ -2,24 +2,24 @@ package org.example.code.checker.checker.markdown.task.structure.title;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import org.commonmark.node.Heading;
 import org.example.code.checker.checker.Checker;
 import org.example.code.checker.checker.common.CheckError;
+import org.example.code.checker.checker.markdown.parser.ast.DocumentIndex;
 import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
 import org.example.code.checker.checker.markdown.parser.ast.MdNodeType;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 
 public class TitleChecker extends Checker {
     @Override
-    public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
+    public List<TaskData<?>> task(TaskContext context) {
         List<CheckError> errors = new ArrayList<>();
 
         // Get originalDocument from input
-        TaskData<?> documentData = input.get("originalDocument");
+        TaskData<?> documentData = context.get("originalDocument");
         if (documentData == null) {
             throw new IllegalArgumentException("Missing required input: originalDocument");
         }
@@ -28,26 +28,23 @@ public class TitleChecker extends Checker {
         TreeNode<MdAstNode> document = (TreeNode<MdAstNode>) documentData.getPayload();
 
         // Get fileId for error reporting (optional)
-        TaskData<?> fileIdData = input.get("fileId");
+        TaskData<?> fileIdData = context.get("fileId");
         String fileId = fileIdData != null ? (String) fileIdData.getPayload() : null;
 
         // Find level 1 heading (title)
-        Optional<TreeNode<MdAstNode>> titleHeading = findHeadingByLevel(document, 1);
+        DocumentIndex index = DocumentIndex.of(document);
+        Optional<TreeNode<MdAstNode>> titleHeading = index.findHeading(1, null);
 
         if (titleHeading.isEmpty()) {
-            String message = buildErrorMessage(
-                    "TitleChecker.MissingTitle",
-                    "Document is missing required Title (level 1 heading)",
-                    fileId,
-                    null,
-                    null,
-                    "DOCUMENT");
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("TitleChecker.MissingTitle")
+                    .message("Document is missing required Title (level 1 heading)")
+                    .fileId(fileId)
+                    .nodeType("DOCUMENT")
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -57,27 +54,22 @@ public class TitleChecker extends Checker {
         String title = extractTextFromNode(titleNode);
         if (title == null || title.trim().isEmpty()) {
             MdAstNode titleNodeData = titleNode.getData();
-            String message = buildErrorMessage(
-                    "TitleChecker.MissingTitle",
-                    "Title section must start with a level 1 heading",
-                    fileId,
-                    titleNodeData != null ? titleNodeData.getSourceRange() : null,
-                    titleNodeData != null ? titleNodeData.getNodeId() : null,
-                    titleNodeData != null ? titleNodeData.getNodeType().name() : null);
             errors.add(CheckError.builder()
-                    .message(message)
+                    .ruleId("TitleChecker.MissingTitle")
+                    .message("Title section must start with a level 1 heading")
+                    .fileId(fileId)
+                    .sourceRange(titleNodeData != null ? titleNodeData.getSourceRange() : null)
+                    .nodeId(titleNodeData != null ? titleNodeData.getNodeId() : null)
+                    .nodeType(titleNodeData != null ? titleNodeData.getNodeType().name() : null)
                     .severity(CheckError.Severity.ERROR)
                     .build());
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
-        // Find the next heading (any level) after title heading
-        TreeNode<MdAstNode> nextHeading = findNextHeading(titleNode, null);
-
-        // Collect all nodes from title heading to next heading (excluding next heading)
-        List<TreeNode<MdAstNode>> titleSection = collectNodesBetween(titleNode, nextHeading);
+        // Collect all nodes from title heading to next heading (any level, excluded)
+        List<TreeNode<MdAstNode>> titleSection = index.section(titleNode, null);
 
         // Extract description and other paragraphs from remaining nodes
         String description = null;
@@ -111,8 +103,8 @@ public class TitleChecker extends Checker {
         // Return result
         List<TaskData<?>> output = new ArrayList<>();
         if (errors.size() > 0) {
-            setErrorList(errors);
-            setNeedStop(true);
+            setErrorList(context, errors);
+            context.setNeedStop(true);
             return null;
         }
 
@@ -120,92 +112,6 @@ public class TitleChecker extends Checker {
         return output;
     }
 
-    /**
-     * Finds a heading node by level.
-     *
-     * @param document The document root node
-     * @param level    The heading level (1-6)
-     * @return Optional containing the found heading node, or empty if not found
-     */
-    private Optional<TreeNode<MdAstNode>> findHeadingByLevel(TreeNode<MdAstNode> document, int level) {
-        List<TreeNode<MdAstNode>> headingNodes = document.query()
-                .all()
-                .ofType(MdAstNode.class)
-                .filter(MdAstNode.class, data -> data != null && data.getNodeType() == MdNodeType.HEADING)
-                .list();
-
-        return headingNodes.stream()
-                .filter(node -> {
-                    MdAstNode data = node.getData();
-                    Heading heading = (Heading) data.getCommonMarkNode();
-                    return heading != null && heading.getLevel() == level;
-                })
-                .findFirst();
-    }
-
-    /**
-     * Finds the next heading node after the given node.
-     *
-     * @param startNode The starting node
-     * @param level     Optional heading level to match. If null, matches any heading level
-     * @return The next heading node, or null if not found
-     */
-    private TreeNode<MdAstNode> findNextHeading(TreeNode<MdAstNode> startNode, Integer level) {
-        TreeNode<MdAstNode> parent = startNode.getParent();
-        if (parent == null) {
-            return null;
-        }
-
-        List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-        int startIndex = siblings.indexOf(startNode);
-
-        for (int i = startIndex + 1; i < siblings.size(); i++) {
-            MdAstNode siblingData = siblings.get(i).getData();
-            if (siblingData.getNodeType() == MdNodeType.HEADING) {
-                if (level == null) {
-                    // Match any heading level
-                    return siblings.get(i);
-                } else {
-                    // Match specific level
-                    Heading heading = (Heading) siblingData.getCommonMarkNode();
-                    if (heading != null && heading.getLevel() == level) {
-                        return siblings.get(i);
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Collects all nodes between startNode and endNode (excluding endNode).
-     *
-     * @param startNode The starting node (inclusive)
-     * @param endNode   The ending node (exclusive). If null, collects until the end of parent's children
-     * @return List of nodes between startNode and endNode
-     */
-    private List<TreeNode<MdAstNode>> collectNodesBetween(TreeNode<MdAstNode> startNode,
-            TreeNode<MdAstNode> endNode) {
-        List<TreeNode<MdAstNode>> content = new ArrayList<>();
-        TreeNode<MdAstNode> parent = startNode.getParent();
-
-        if (parent != null) {
-            List<TreeNode<MdAstNode>> siblings = parent.getChildren();
-            int startIndex = siblings.indexOf(startNode);
-            int endIndex = endNode != null ? siblings.indexOf(endNode) : siblings.size();
-
-            for (int i = startIndex; i < endIndex; i++) {
-                content.add(siblings.get(i));
-            }
-        } else {
-            // If no parent, just add the start node itself
-            content.add(startNode);
-        }
-
-        return content;
-    }
-
     /**
      * Extracts text content from a node by traversing its children.
      */
@@ -0,0 +1,134 @@
+package org.example.code.checker.checker.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads document text exactly as it is stored: line endings ({@code \n},
+ * {@code \r\n}, {@code \r}) and a final line terminator are kept, so source
+ * offsets and line/column positions match the file. Only a leading byte
+ * order mark is dropped.
+ * <p>
+ * A file is read with one bulk read, or memory-mapped when it is large, and
+ * decoded once. Malformed input is reported as a
+ * {@link CharacterCodingException} rather than replaced.
+ * <p>
+ * A loader created with {@link #batch()} keeps its decode buffer between
+ * files, so checking many files does not allocate a new buffer per file.
+ * Such a loader is not thread-safe; use one per thread.
+ */
+public final class DocumentLoader {
+
+    /**
+     * Files of at least this size are memory-mapped instead of read.
+     */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    /**
+     * Decode buffers larger than this are not kept for the next file.
+     */
+    private static final int MAX_RETAINED_CHARS = 4 << 20;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final CharsetDecoder decoder;
+
+    private final boolean reuseBuffer;
+
+    private CharBuffer buffer;
+
+    private DocumentLoader(Charset charset, boolean reuseBuffer) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.reuseBuffer = reuseBuffer;
+    }
+
+    /**
+     * Creates a UTF-8 loader that keeps its decode buffer between files.
+     */
+    public static DocumentLoader batch() {
+        return batch(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a loader for the given charset that keeps its decode buffer
+     * between files.
+     */
+    public static DocumentLoader batch(Charset charset) {
+        return new DocumentLoader(charset, true);
+    }
+
+    /**
+     * Reads one UTF-8 file without keeping any buffer.
+     */
+    public static String read(Path path) throws IOException {
+        return new DocumentLoader(StandardCharsets.UTF_8, false).load(path);
+    }
+
+    /**
+     * Reads and decodes a file.
+     *
+     * @throws CharacterCodingException if the file is not valid in the charset
+     */
+    public String load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD && size <= Integer.MAX_VALUE) {
+                return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+        }
+        return decode(Files.readAllBytes(path));
+    }
+
+    /**
+     * Decodes content that was already read.
+     *
+     * @throws CharacterCodingException if the content is not valid in the charset
+     */
+    public String decode(byte[] content) throws CharacterCodingException {
+        return decode(ByteBuffer.wrap(content));
+    }
+
+    private String decode(ByteBuffer in) throws CharacterCodingException {
+        CharBuffer out = buffer((int) Math.ceil(in.remaining() * (double) decoder.maxCharsPerByte()));
+        decoder.reset();
+        CoderResult result = decoder.decode(in, out, true);
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        result = decoder.flush(out);
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        out.flip();
+        if (out.hasRemaining() && out.get(0) == BYTE_ORDER_MARK) {
+            out.position(1);
+        }
+        return out.toString();
+    }
+
+    private CharBuffer buffer(int capacity) {
+        if (!reuseBuffer) {
+            return CharBuffer.allocate(capacity);
+        }
+        if (buffer == null || buffer.capacity() < capacity) {
+            CharBuffer allocated = CharBuffer.allocate(capacity);
+            buffer = capacity <= MAX_RETAINED_CHARS ? allocated : null;
+            return allocated;
+        }
+        buffer.clear();
+        return buffer;
+    }
+}
@@ -1,16 +1,17 @@
 package org.example.code.checker.checker.utils;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class FileUtils {
 
+    /**
+     * Reads a UTF-8 file, keeping its line endings.
+     *
+     * @see DocumentLoader
+     */
     public static String getFileContent(String filePath) throws IOException {
-        Path p = Paths.get(filePath);
-        // 按行拼回 \n，去掉末尾换行可再处理
-        return String.join("\n", Files.readAllLines(p, StandardCharsets.UTF_8));
+        // 原样保留换行符（\r\n、末尾换行），偏移量与文件一致
+        return DocumentLoader.read(Paths.get(filePath));
     }
 }
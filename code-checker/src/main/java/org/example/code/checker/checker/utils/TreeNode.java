@@ -3,6 +3,8 @@ package org.example.code.checker.checker.utils;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TreeNode<T> {
     private String nodeId;
@@ -122,21 +124,42 @@ public class TreeNode<T> {
 
     /**
      * ✅ 查询构建器（链式调用）
+     * <p>
+     * The query is lazy: {@link #all()}, {@link #children()} and the filters
+     * only describe it, and the nodes are walked when a result is asked for,
+     * without building intermediate lists. {@link #first()} stops at the
+     * first match. The tree must not be changed while a result is being
+     * computed.
      */
     public static class Query<T> {
         private final TreeNode<T> root;
-        private List<TreeNode<T>> results = new ArrayList<>();
+
+        /**
+         * Nodes the query starts from: none until {@link #all()} or {@link #children()}.
+         */
+        private Source source = Source.NONE;
+
+        /**
+         * Conjunction of all filters, null if there are none.
+         */
+        private Predicate<TreeNode<T>> condition;
 
         private Query(TreeNode<T> root) {
             this.root = root;
         }
 
+        private enum Source {
+            NONE,
+            ALL,
+            CHILDREN
+        }
+
         /**
          * ✅ 递归查询所有节点
          */
         public Query<T> all() {
-            results.clear();
-            root.traverse(results::add); // 收集所有节点
+            source = Source.ALL;
+            condition = null;
             return this;
         }
 
@@ -144,7 +167,8 @@ public class TreeNode<T> {
          * ✅ 只查直接子节点
          */
         public Query<T> children() {
-            results = new ArrayList<>(root.getChildren());
+            source = Source.CHILDREN;
+            condition = null;
             return this;
         }
 
@@ -153,8 +177,7 @@ public class TreeNode<T> {
          * 示例：.ofType(Heading.class)
          */
         public <C extends T> Query<T> ofType(Class<C> type) {
-            results.removeIf(node -> !type.isInstance(node.getData()));
-            return this;
+            return where(node -> type.isInstance(node.getData()));
         }
 
         /**
@@ -162,12 +185,12 @@ public class TreeNode<T> {
          * 示例：.filter(Heading.class, h -> h.getLevel() == 1)
          */
         public <C extends T> Query<T> filter(Class<C> type, Predicate<C> condition) {
-            results.removeIf(node -> {
-                if (!type.isInstance(node.getData()))
-                    return true;
-                C concrete = type.cast(node.getData());
-                return !condition.test(concrete); // 测试具体类型属性
-            });
+            return where(node -> type.isInstance(node.getData())
+                    && condition.test(type.cast(node.getData()))); // 测试具体类型属性
+        }
+
+        private Query<T> where(Predicate<TreeNode<T>> predicate) {
+            condition = condition == null ? predicate : condition.and(predicate);
             return this;
         }
 
@@ -175,31 +198,116 @@ public class TreeNode<T> {
          * ✅ 取第一个结果
          */
         public Optional<TreeNode<T>> first() {
-            return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+            Iterator<TreeNode<T>> iterator = iterator();
+            return iterator.hasNext() ? Optional.of(iterator.next()) : Optional.empty();
         }
 
         /**
          * ✅ 取所有结果
          */
         public List<TreeNode<T>> list() {
-            return new ArrayList<>(results);
+            List<TreeNode<T>> results = new ArrayList<>();
+            iterator().forEachRemaining(results::add);
+            return results;
         }
 
         /**
          * ✅ 遍历结果
          */
         public void forEach(Consumer<TreeNode<T>> action) {
-            results.forEach(action);
+            iterator().forEachRemaining(action);
+        }
+
+        /**
+         * Gets the matching nodes as a sequential stream, in document order.
+         */
+        public Stream<TreeNode<T>> stream() {
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                    false);
+        }
+
+        /**
+         * Iterates over the matching nodes in document order.
+         */
+        public Iterator<TreeNode<T>> iterator() {
+            Iterator<TreeNode<T>> nodes;
+            switch (source) {
+                case ALL:
+                    nodes = new PreOrderIterator<>(root);
+                    break;
+                case CHILDREN:
+                    nodes = root.getChildren().iterator();
+                    break;
+                default:
+                    nodes = Collections.emptyIterator();
+                    break;
+            }
+            return condition == null ? nodes : new FilteringIterator<>(nodes, condition);
         }
     }
 
     /**
-     * ✅ 遍历辅助方法
+     * ✅ 先序遍历迭代器（显式栈，不递归）
      */
-    private void traverse(Consumer<TreeNode<T>> action) {
-        action.accept(this);
-        for (TreeNode<T> child : this.children) {
-            child.traverse(action);
+    private static final class PreOrderIterator<T> implements Iterator<TreeNode<T>> {
+        private final Deque<TreeNode<T>> stack = new ArrayDeque<>();
+
+        PreOrderIterator(TreeNode<T> root) {
+            stack.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public TreeNode<T> next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            TreeNode<T> node = stack.pop();
+            List<TreeNode<T>> children = node.children;
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+            return node;
+        }
+    }
+
+    /**
+     * ✅ 过滤迭代器，按需向前查找下一个匹配节点
+     */
+    private static final class FilteringIterator<T> implements Iterator<TreeNode<T>> {
+        private final Iterator<TreeNode<T>> nodes;
+        private final Predicate<TreeNode<T>> condition;
+        private TreeNode<T> next;
+
+        FilteringIterator(Iterator<TreeNode<T>> nodes, Predicate<TreeNode<T>> condition) {
+            this.nodes = nodes;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && nodes.hasNext()) {
+                TreeNode<T> candidate = nodes.next();
+                if (condition.test(candidate)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public TreeNode<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TreeNode<T> result = next;
+            next = null;
+            return result;
         }
     }
 }
@@ -0,0 +1,180 @@
+package org.example.flow.engine.analyzer;
+
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Data of one execution of an {@link ExecutionPlan}: the run inputs and
+ * every {@link TaskData} output by a node, keyed by
+ * {@link TaskData#getName()}, and the {@link TaskContext} of every node
+ * that ran.
+ * <p>
+ * A node reads the blackboard through {@link #inputFor(int)}, which only
+ * shows the outputs of the node's direct
+ * and indirect dependencies, so what a node sees does not depend on
+ * scheduling. When several of them output the same name, the one closest
+ * to the node in plan order wins; run inputs come last.
+ * <p>
+ * Outputs are published before the dependents of a node are released, so
+ * a blackboard can be read and written by several worker threads.
+ */
+public final class Blackboard {
+
+    private final ExecutionPlan plan;
+
+    private final Map<String, TaskData<?>> inputs;
+
+    private final ConcurrentHashMap<String, Published> outputs = new ConcurrentHashMap<>();
+
+    /**
+     * Contexts of the nodes that ran, by plan position.
+     */
+    private final AtomicReferenceArray<TaskContext> contexts;
+
+    /**
+     * An output and the position of the node that produced it; outputs with
+     * the same name are chained.
+     */
+    private static final class Published {
+        final int position;
+        final TaskData<?> data;
+        final Published next;
+
+        Published(int position, TaskData<?> data, Published next) {
+            this.position = position;
+            this.data = data;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Creates the blackboard of one execution of a plan.
+     *
+     * @param plan   plan to execute
+     * @param inputs run inputs by name, may be null
+     */
+    public Blackboard(ExecutionPlan plan, Map<String, TaskData<?>> inputs) {
+        this.plan = plan;
+        this.inputs = inputs != null ? Map.copyOf(inputs) : Map.of();
+        this.contexts = new AtomicReferenceArray<>(plan.size());
+    }
+
+    public ExecutionPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gets the data with the given name: the output of the latest node in
+     * plan order that produced it, or else the run input.
+     *
+     * @return the data, or null if nothing with that name was produced
+     */
+    public TaskData<?> get(String name) {
+        Published best = null;
+        for (Published published = outputs.get(name); published != null; published = published.next) {
+            if (best == null || published.position > best.position) {
+                best = published;
+            }
+        }
+        return best != null ? best.data : inputs.get(name);
+    }
+
+    /**
+     * Gets the payload of the named data if it has the given type.
+     *
+     * @return the payload, or null if it is missing or of another type
+     */
+    public <T> T getPayload(String name, Class<T> type) {
+        TaskData<?> data = get(name);
+        return data != null && type.isInstance(data.getPayload()) ? type.cast(data.getPayload()) : null;
+    }
+
+    /**
+     * Gets the context of the node with the given id.
+     *
+     * @return the context, or null if the node did not run
+     */
+    public TaskContext getContext(String nodeId) {
+        int position = plan.positionOf(nodeId);
+        return position < 0 ? null : contexts.get(position);
+    }
+
+    /**
+     * Records the context and outputs of the node at the given position.
+     */
+    void publish(int position, TaskContext context) {
+        contexts.set(position, context);
+        List<TaskData<?>> output = context.getOutput();
+        if (output == null) {
+            return;
+        }
+        for (TaskData<?> data : output) {
+            if (data != null && data.getName() != null) {
+                outputs.compute(data.getName(), (name, next) -> new Published(position, data, next));
+            }
+        }
+    }
+
+    /**
+     * Gets the read-only input map of the node at the given position.
+     */
+    Map<String, TaskData<?>> inputFor(int position) {
+        return new NodeInput(position);
+    }
+
+    private TaskData<?> lookup(String name, int position) {
+        Published best = null;
+        for (Published published = outputs.get(name); published != null; published = published.next) {
+            if (plan.isAncestor(published.position, position)
+                    && (best == null || published.position > best.position)) {
+                best = published;
+            }
+        }
+        return best != null ? best.data : inputs.get(name);
+    }
+
+    /**
+     * Input of one node, resolved on every lookup.
+     */
+    private final class NodeInput extends AbstractMap<String, TaskData<?>> {
+
+        private final int position;
+
+        NodeInput(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public TaskData<?> get(Object key) {
+            return key instanceof String ? lookup((String) key, position) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, TaskData<?>>> entrySet() {
+            Map<String, TaskData<?>> snapshot = new LinkedHashMap<>();
+            for (String name : inputs.keySet()) {
+                snapshot.put(name, lookup(name, position));
+            }
+            for (String name : outputs.keySet()) {
+                TaskData<?> data = lookup(name, position);
+                if (data != null) {
+                    snapshot.put(name, data);
+                }
+            }
+            return snapshot.entrySet();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.flow.engine.analyzer;
+
+import org.example.flow.engine.node.TaskNode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A validated task graph in topological order, compiled once and executed
+ * by {@link FlowEngine#execute(ExecutionPlan, Map)} as many times as needed.
+ * <p>
+ * Compiling checks that node ids are unique, that every dependency exists
+ * and that the graph is acyclic, then resolves dependencies to positions
+ * in the order. Executing a plan therefore does no graph work: the engine
+ * only walks arrays.
+ * <p>
+ * The plan keeps references to the nodes, which hold no per-run state, so
+ * it can be executed by several threads at once. Node ids and dependencies
+ * must not change after compiling.
+ */
+public final class ExecutionPlan {
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Nodes in topological order.
+     */
+    private final List<TaskNode> nodes;
+
+    private final Map<String, Integer> positionById;
+
+    /**
+     * Positions of the dependencies and dependents of each node, by position.
+     */
+    private final int[][] dependencies;
+    private final int[][] dependents;
+
+    /**
+     * Positions of the direct and indirect dependencies of each node.
+     */
+    private final BitSet[] ancestors;
+
+    private ExecutionPlan(List<TaskNode> ordered) {
+        int size = ordered.size();
+        this.positionById = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            positionById.put(ordered.get(i).getId(), i);
+        }
+
+        this.dependencies = new int[size][];
+        List<List<Integer>> dependentLists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dependentLists.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            List<String> dependencyIds = ordered.get(i).getDependencies();
+            int[] positions = dependencyIds.isEmpty() ? NONE : new int[dependencyIds.size()];
+            for (int j = 0; j < positions.length; j++) {
+                positions[j] = positionById.get(dependencyIds.get(j));
+                dependentLists.get(positions[j]).add(i);
+            }
+            dependencies[i] = positions;
+        }
+
+        this.dependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            List<Integer> list = dependentLists.get(i);
+            int[] positions = list.isEmpty() ? NONE : new int[list.size()];
+            for (int j = 0; j < positions.length; j++) {
+                positions[j] = list.get(j);
+            }
+            dependents[i] = positions;
+        }
+
+        // Dependencies come first in the order, so their ancestors are complete
+        this.ancestors = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            BitSet set = new BitSet(size);
+            for (int dependency : dependencies[i]) {
+                set.set(dependency);
+                set.or(ancestors[dependency]);
+            }
+            ancestors[i] = set;
+        }
+        this.nodes = List.copyOf(ordered);
+    }
+
+    /**
+     * Validates the graph formed by the nodes and orders it.
+     *
+     * @param nodes task nodes; null elements are ignored
+     * @return the compiled plan
+     * @throws IllegalArgumentException if an id is missing or duplicated, a
+     *                                  dependency does not exist, or the graph has a cycle
+     */
+    public static ExecutionPlan compile(Collection<TaskNode> nodes) {
+        return new ExecutionPlan(FlowEngine.topologicalSort(nodes));
+    }
+
+    /**
+     * Gets the nodes in execution order: every node comes after its dependencies.
+     */
+    public List<TaskNode> getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Gets the position of the node with the given id.
+     *
+     * @return the position in {@link #getNodes()}, or -1 if there is no such node
+     */
+    public int positionOf(String nodeId) {
+        Integer position = positionById.get(nodeId);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Gets the positions of the dependencies of the node at the given position.
+     * The returned array must not be modified.
+     */
+    int[] dependenciesOf(int position) {
+        return dependencies[position];
+    }
+
+    /**
+     * Gets the positions of the nodes that depend on the node at the given position.
+     * The returned array must not be modified.
+     */
+    int[] dependentsOf(int position) {
+        return dependents[position];
+    }
+
+    /**
+     * Checks whether the node at {@code ancestor} is a direct or indirect
+     * dependency of the node at {@code position}.
+     */
+    boolean isAncestor(int ancestor, int position) {
+        return ancestors[position].get(ancestor);
+    }
+}
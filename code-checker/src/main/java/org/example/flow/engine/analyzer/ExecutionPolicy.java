@@ -0,0 +1,106 @@
+package org.example.flow.engine.analyzer;
+
+import org.example.flow.engine.node.TaskContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides when a {@link FlowEngine} stops starting new nodes.
+ * <p>
+ * The policy counts the errors of every node that ran, as reported on its
+ * {@link TaskContext}; a node that threw counts as one error.
+ * Once the count reaches the budget the policy is halted: nodes that have
+ * not started yet are skipped, while nodes already running finish.
+ * <p>
+ * A policy may be shared by several engines, for example all pipelines of
+ * a corpus run, so that the budget applies to the whole run. It is
+ * thread-safe and stays halted until {@link #reset()} is called.
+ */
+public final class ExecutionPolicy {
+
+    private final int maxErrors;
+
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private ExecutionPolicy(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Runs every node whose dependencies did not stop, regardless of errors.
+     * This is the default of {@link FlowEngine}.
+     */
+    public static ExecutionPolicy runToCompletion() {
+        return new ExecutionPolicy(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Halts at the first node that reports an error.
+     */
+    public static ExecutionPolicy failFast() {
+        return new ExecutionPolicy(1);
+    }
+
+    /**
+     * Halts once the nodes have reported at least {@code maxErrors} errors in total.
+     *
+     * @param maxErrors number of errors that halts the run, at least 1
+     */
+    public static ExecutionPolicy errorBudget(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1, got " + maxErrors);
+        }
+        return new ExecutionPolicy(maxErrors);
+    }
+
+    /**
+     * Checks whether nodes that have not started should be skipped.
+     */
+    public boolean isHalted() {
+        return errorCount.get() >= maxErrors;
+    }
+
+    /**
+     * Gets the number of errors counted so far.
+     */
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * Clears the error count, e.g. before reusing the policy for another run.
+     */
+    public void reset() {
+        errorCount.set(0);
+    }
+
+    /**
+     * Counts errors reported without running the nodes, e.g. a result
+     * answered from a cache.
+     *
+     * @param errors number of errors
+     */
+    public void recordErrors(int errors) {
+        if (errors > 0) {
+            errorCount.addAndGet(errors);
+        }
+    }
+
+    /**
+     * Counts the errors of a node that finished.
+     */
+    void record(TaskContext context) {
+        recordErrors(context.getErrorCount());
+    }
+
+    /**
+     * Counts a node that threw.
+     */
+    void recordFailure() {
+        errorCount.incrementAndGet();
+    }
+}
@@ -1,5 +1,11 @@
 package org.example.flow.engine.analyzer;
 
+import org.example.flow.engine.metrics.TaskListener;
+import org.example.flow.engine.metrics.TaskMeter;
+import org.example.flow.engine.metrics.TaskMetrics;
+import org.example.flow.engine.metrics.TaskStatus;
+import org.example.flow.engine.node.TaskContext;
+import org.example.flow.engine.node.TaskData;
 import org.example.flow.engine.node.TaskNode;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DirectedAcyclicGraph;
@@ -12,54 +18,449 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Simple flow engine that executes {@link TaskNode} instances
  * according to their dependency graph using JGraphT.
+ * <p>
+ * By default all nodes run one after another on the calling thread.
+ * When constructed with a parallelism greater than one (or with an
+ * external {@link ExecutorService}), each node is released to the worker
+ * pool as soon as all of its dependencies have finished, so independent
+ * branches of the graph run concurrently. An engine that owns its pool
+ * starts the workers on the first parallel run, reuses them for every
+ * later run and stops them on {@link #close()}.
+ * <p>
+ * Registered {@link TaskListener}s are notified around every node with its
+ * wall time, CPU time, allocated bytes, status and error count.
+ * <p>
+ * An {@link ExecutionPolicy} decides whether errors end the run early: by
+ * default every branch runs to completion, while fail-fast and error-budget
+ * policies skip all nodes that have not started once they are halted.
+ * <p>
+ * Nodes read their input from the run's {@link Blackboard}: the run inputs
+ * plus the outputs of their dependencies, looked up by {@link TaskData} name
+ * when the node runs. Each execution of a node gets its own
+ * {@link TaskContext}, kept on the blackboard, so the nodes hold no per-run
+ * state and one plan can be executed for many documents at the same time.
  */
-public class FlowEngine {
+public class FlowEngine implements AutoCloseable {
+
+    /**
+     * Number of workers used when the engine owns its pool.
+     * A value of 1 means sequential execution on the calling thread.
+     */
+    private final int parallelism;
+
+    /**
+     * Optional externally managed executor. When present, it is used for
+     * parallel scheduling and never shut down by the engine.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Worker pool owned by the engine, created on the first parallel run.
+     */
+    private ExecutorService ownedPool;
+
+    private boolean closed;
+
+    /**
+     * Listeners notified around every node execution.
+     */
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Policy deciding when outstanding nodes are skipped.
+     */
+    private volatile ExecutionPolicy policy = ExecutionPolicy.runToCompletion();
+
+    /**
+     * Creates an engine that executes nodes sequentially on the calling thread.
+     */
+    public FlowEngine() {
+        this(1);
+    }
+
+    /**
+     * Creates an engine that schedules nodes on a worker pool of the given size.
+     * The pool is created on the first parallel run and shut down by
+     * {@link #close()}; its threads are daemons, so an engine that is never
+     * closed does not keep the JVM alive.
+     *
+     * @param parallelism number of worker threads, 1 for sequential execution
+     */
+    public FlowEngine(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                "parallelism must be at least 1, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.executor = null;
+    }
+
+    /**
+     * Creates an engine that schedules nodes on the given executor.
+     * The executor is owned by the caller and is not shut down by the engine.
+     *
+     * @param executor executor used to run task nodes
+     */
+    public FlowEngine(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.parallelism = 0;
+        this.executor = executor;
+    }
+
+    /**
+     * Registers a listener that is notified around every node execution.
+     * Measurements are only taken while at least one listener is registered.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(TaskListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the policy deciding when outstanding nodes are skipped. The same
+     * policy may be set on several engines to share its error budget.
+     *
+     * @param policy execution policy
+     */
+    public void setExecutionPolicy(ExecutionPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        this.policy = policy;
+    }
+
+    public ExecutionPolicy getExecutionPolicy() {
+        return policy;
+    }
 
     /**
      * Execute given task nodes in the order defined by their dependencies.
      * Nodes with no dependencies will be executed first, followed by nodes
      * whose dependencies have already completed.
      * If a node sets needStop to true, all nodes that depend on it (directly or indirectly)
-     * will be skipped.
+     * will be skipped. Once the execution policy is halted, all nodes that
+     * have not started are skipped.
+     * <p>
+     * The graph is validated and ordered on every call; callers that run the
+     * same nodes repeatedly should compile an {@link ExecutionPlan} once and
+     * use {@link #execute(ExecutionPlan, Map)}.
      *
      * @param nodes list of task nodes to execute
+     * @return the blackboard holding all node outputs and contexts
      */
-    public void execute(List<TaskNode> nodes) {
-        DirectedAcyclicGraph<TaskNode, DefaultEdge> graph = buildGraph(nodes);
-        List<TaskNode> ordered = topologicalSort(nodes);
-        
-        // Track which nodes have been stopped (either directly or due to dependency failure)
-        Map<String, Boolean> nodeStopped = new HashMap<>();
-        for (TaskNode node : nodes) {
-            nodeStopped.put(node.getId(), false);
+    public Blackboard execute(List<TaskNode> nodes) {
+        return execute(ExecutionPlan.compile(nodes), null);
+    }
+
+    /**
+     * Execute a compiled plan for one set of run inputs, with the same
+     * semantics as {@link #execute(List)}. Nodes read the run inputs and
+     * their dependencies' outputs by name. The plan may be executed by
+     * several threads at once, each with its own inputs.
+     *
+     * @param plan   plan to execute
+     * @param inputs run inputs by name, may be null
+     * @return the blackboard holding the run inputs and all node outputs and contexts
+     */
+    public Blackboard execute(ExecutionPlan plan, Map<String, TaskData<?>> inputs) {
+        Blackboard blackboard = new Blackboard(plan, inputs);
+        execute(blackboard);
+        return blackboard;
+    }
+
+    /**
+     * Execute the plan of a blackboard created by the caller, who can read
+     * the contexts of the nodes that ran even if a node throws.
+     *
+     * @param blackboard plan and run inputs of this execution
+     */
+    public void execute(Blackboard blackboard) {
+        ExecutionPlan plan = blackboard.getPlan();
+        if (plan.size() == 0) {
+            return;
+        }
+
+        if (executor == null && parallelism <= 1) {
+            executeSequential(plan, blackboard);
+            return;
+        }
+
+        if (executor != null) {
+            executeParallel(plan, blackboard, executor);
+            return;
+        }
+
+        executeParallel(plan, blackboard, ownedPool());
+    }
+
+    /**
+     * Gets the pool owned by the engine, creating it on first use.
+     */
+    private synchronized ExecutorService ownedPool() {
+        if (closed) {
+            throw new IllegalStateException("FlowEngine is closed");
+        }
+        if (ownedPool == null) {
+            ownedPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "flow-engine-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
-        
-        for (TaskNode node : ordered) {
+        return ownedPool;
+    }
+
+    /**
+     * Shuts down the worker pool owned by the engine, if any; an executor
+     * given by the caller is left running. Call it once no run is in
+     * progress; later parallel runs throw {@link IllegalStateException}.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    /**
+     * Walk the plan's topological order on the calling thread.
+     *
+     * @param plan       plan to execute
+     * @param blackboard data of this run
+     */
+    private void executeSequential(ExecutionPlan plan, Blackboard blackboard) {
+        List<TaskNode> ordered = plan.getNodes();
+
+        // Track which nodes have been stopped (either directly or due to dependency failure)
+        boolean[] nodeStopped = new boolean[ordered.size()];
+
+        for (int i = 0; i < ordered.size(); i++) {
+            TaskNode node = ordered.get(i);
+
             // Check if any dependency has stopped
             boolean dependencyStopped = false;
-            for (String dependencyId : node.getDependencies()) {
-                if (nodeStopped.get(dependencyId)) {
+            for (int dependency : plan.dependenciesOf(i)) {
+                if (nodeStopped[dependency]) {
                     dependencyStopped = true;
                     break;
                 }
             }
-            
-            // Skip this node if any dependency has stopped
-            if (dependencyStopped) {
-                nodeStopped.put(node.getId(), true);
+
+            // Skip this node if any dependency has stopped or the policy halted the run
+            if (dependencyStopped || policy.isHalted()) {
+                nodeStopped[i] = true;
+                skipNode(node);
                 continue;
             }
-            
-            // Execute the node
-            node.execute();
-            
-            // Check if this node needs to stop
-            if (node.isNeedStop()) {
-                nodeStopped.put(node.getId(), true);
+
+            // Execute the node and check if it needs to stop
+            TaskContext context = runNode(node, blackboard.inputFor(i));
+            blackboard.publish(i, context);
+            if (context.isNeedStop()) {
+                nodeStopped[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Execute one node and notify listeners with its measurements.
+     *
+     * @param node  node to execute
+     * @param input input of the node
+     * @return the context of the execution
+     */
+    private TaskContext runNode(TaskNode node, Map<String, TaskData<?>> input) {
+        ExecutionPolicy runPolicy = policy;
+        if (listeners.isEmpty()) {
+            TaskContext context;
+            try {
+                context = node.execute(input);
+            } catch (RuntimeException | Error e) {
+                runPolicy.recordFailure();
+                throw e;
+            }
+            runPolicy.record(context);
+            return context;
+        }
+
+        for (TaskListener listener : listeners) {
+            listener.beforeTask(node);
+        }
+        TaskMeter meter = TaskMeter.start();
+        TaskContext context;
+        try {
+            context = node.execute(input);
+        } catch (RuntimeException | Error e) {
+            runPolicy.recordFailure();
+            notifyAfter(node, meter.stop(node, TaskStatus.FAILED, 0));
+            throw e;
+        }
+        runPolicy.record(context);
+        notifyAfter(node, meter.stop(node, context.isNeedStop() ? TaskStatus.STOPPED : TaskStatus.COMPLETED,
+                context.getErrorCount()));
+        return context;
+    }
+
+    /**
+     * Notify listeners that a node was not executed.
+     */
+    private void skipNode(TaskNode node) {
+        if (!listeners.isEmpty()) {
+            notifyAfter(node, TaskMeter.skipped(node));
+        }
+    }
+
+    private void notifyAfter(TaskNode node, TaskMetrics metrics) {
+        for (TaskListener listener : listeners) {
+            listener.afterTask(node, metrics);
+        }
+    }
+
+    /**
+     * Release each node to the executor as soon as all of its dependencies
+     * have finished. A node whose dependency stopped is marked as stopped
+     * without being executed, exactly as in sequential mode, and so is every
+     * node released after the execution policy halted. If a node throws,
+     * no further nodes are started and the failure is rethrown once all
+     * in-flight nodes have finished.
+     *
+     * @param plan       plan to execute
+     * @param blackboard data of this run
+     * @param pool       executor running the nodes
+     */
+    private void executeParallel(ExecutionPlan plan, Blackboard blackboard, ExecutorService pool) {
+        ParallelRun run = new ParallelRun(plan, blackboard, pool);
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.dependenciesOf(i).length == 0) {
+                run.release(i);
+            }
+        }
+        run.await();
+    }
+
+    /**
+     * Mutable state of one parallel execution, indexed by plan position.
+     */
+    private final class ParallelRun {
+        private final ExecutionPlan plan;
+        private final Blackboard blackboard;
+        private final ExecutorService pool;
+        private final AtomicIntegerArray pendingDependencies;
+        /**
+         * Written before the node's dependents are counted down, so a node
+         * released by the last count down sees the flags of all its dependencies.
+         */
+        private final boolean[] nodeStopped;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch remaining;
+
+        ParallelRun(ExecutionPlan plan, Blackboard blackboard, ExecutorService pool) {
+            this.plan = plan;
+            this.blackboard = blackboard;
+            this.pool = pool;
+            int size = plan.size();
+            this.pendingDependencies = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                pendingDependencies.set(i, plan.dependenciesOf(i).length);
+            }
+            this.nodeStopped = new boolean[size];
+            this.remaining = new CountDownLatch(size);
+        }
+
+        /**
+         * Called once all dependencies of the node have finished.
+         */
+        void release(int position) {
+            TaskNode node = plan.getNodes().get(position);
+            boolean dependencyStopped = false;
+            for (int dependency : plan.dependenciesOf(position)) {
+                if (nodeStopped[dependency]) {
+                    dependencyStopped = true;
+                    break;
+                }
+            }
+
+            // Skip this node if any dependency has stopped, the run failed or the policy halted it
+            if (dependencyStopped || failure.get() != null || policy.isHalted()) {
+                skipNode(node);
+                complete(position, true);
+                return;
+            }
+
+            try {
+                pool.execute(() -> run(position, node));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                complete(position, true);
+            }
+        }
+
+        private void run(int position, TaskNode node) {
+            boolean stopped;
+            try {
+                TaskContext context = runNode(node, blackboard.inputFor(position));
+                blackboard.publish(position, context);
+                stopped = context.isNeedStop();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                stopped = true;
+            }
+            complete(position, stopped);
+        }
+
+        private void complete(int position, boolean stopped) {
+            nodeStopped[position] = stopped;
+            for (int dependent : plan.dependentsOf(position)) {
+                if (pendingDependencies.decrementAndGet(dependent) == 0) {
+                    release(dependent);
+                }
+            }
+            remaining.countDown();
+        }
+
+        void await() {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for task nodes", e);
+            }
+
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            if (t != null) {
+                throw new IllegalStateException("Task node execution failed", t);
             }
         }
     }
@@ -71,7 +472,7 @@ public class FlowEngine {
      * @param nodes collection of task nodes
      * @return nodes sorted by dependency order
      */
-    List<TaskNode> topologicalSort(Collection<TaskNode> nodes) {
+    static List<TaskNode> topologicalSort(Collection<TaskNode> nodes) {
         DirectedAcyclicGraph<TaskNode, DefaultEdge> graph = buildGraph(nodes);
 
         // Topological order iterator will throw if the graph is not acyclic.
@@ -150,7 +551,7 @@ public class FlowEngine {
      * @param nodes collection of task nodes
      * @return directed acyclic graph
      */
-    private DirectedAcyclicGraph<TaskNode, DefaultEdge> buildGraph(
+    private static DirectedAcyclicGraph<TaskNode, DefaultEdge> buildGraph(
         Collection<TaskNode> nodes
     ) {
         if (nodes == null || nodes.isEmpty()) {
@@ -0,0 +1,29 @@
+package org.example.flow.engine.metrics;
+
+import org.example.flow.engine.node.TaskNode;
+
+/**
+ * Callback invoked by {@code FlowEngine} around every task node.
+ * <p>
+ * In parallel mode callbacks arrive from worker threads, possibly for several
+ * nodes at once, so implementations must be thread-safe.
+ */
+public interface TaskListener {
+
+    /**
+     * Called on the executing thread right before the node runs.
+     * Not called for skipped nodes.
+     *
+     * @param node node about to run
+     */
+    default void beforeTask(TaskNode node) {
+    }
+
+    /**
+     * Called once per node after it ran, failed or was skipped.
+     *
+     * @param node    the task node
+     * @param metrics measurements of this execution
+     */
+    void afterTask(TaskNode node, TaskMetrics metrics);
+}
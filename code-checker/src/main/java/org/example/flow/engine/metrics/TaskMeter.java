@@ -0,0 +1,110 @@
+package org.example.flow.engine.metrics;
+
+import org.example.flow.engine.node.TaskNode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures wall time, thread CPU time and thread allocation of a task node
+ * using {@link ThreadMXBean}.
+ * <p>
+ * Usage:
+ * <pre>
+ *   TaskMeter meter = TaskMeter.start();
+ *   TaskContext context = node.execute(input);
+ *   TaskMetrics metrics = meter.stop(node, TaskStatus.COMPLETED, context.getErrorCount());
+ * </pre>
+ * {@link #start()} and {@link #stop} must be called on the same thread.
+ */
+public final class TaskMeter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean
+                    ? (com.sun.management.ThreadMXBean) THREADS
+                    : null;
+
+    private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+
+    private static final boolean ALLOCATION_SUPPORTED = enableAllocation();
+
+    private final long startWall;
+    private final long startCpu;
+    private final long startAllocated;
+
+    private TaskMeter() {
+        this.startWall = System.nanoTime();
+        this.startCpu = cpuTime();
+        this.startAllocated = allocatedBytes();
+    }
+
+    /**
+     * Starts measuring on the current thread.
+     */
+    public static TaskMeter start() {
+        return new TaskMeter();
+    }
+
+    /**
+     * Stops measuring and builds the metrics for the node.
+     *
+     * @param node       measured node
+     * @param status     outcome of the execution
+     * @param errorCount number of problems the node reported
+     * @return metrics for the node
+     */
+    public TaskMetrics stop(TaskNode node, TaskStatus status, int errorCount) {
+        long wall = System.nanoTime() - startWall;
+        long cpu = startCpu < 0 ? -1 : cpuTime() - startCpu;
+        long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+        return new TaskMetrics(node.getId(), status, wall, cpu, allocated, errorCount);
+    }
+
+    /**
+     * Builds the metrics for a node that was not run.
+     */
+    public static TaskMetrics skipped(TaskNode node) {
+        return new TaskMetrics(node.getId(), TaskStatus.SKIPPED, 0, 0, 0, 0);
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return -1;
+        }
+        return ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean enableCpuTime() {
+        try {
+            if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if (!THREADS.isThreadCpuTimeEnabled()) {
+                THREADS.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static boolean enableAllocation() {
+        try {
+            if (ALLOCATIONS == null || !ALLOCATIONS.isThreadAllocatedMemorySupported()) {
+                return false;
+            }
+            if (!ALLOCATIONS.isThreadAllocatedMemoryEnabled()) {
+                ALLOCATIONS.setThreadAllocatedMemoryEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+}
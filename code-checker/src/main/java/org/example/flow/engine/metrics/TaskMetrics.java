@@ -0,0 +1,59 @@
+package org.example.flow.engine.metrics;
+
+/**
+ * Measurements for one task node execution.
+ * <p>
+ * CPU time and allocated bytes are measured on the thread that ran the node
+ * and are {@code -1} when the JVM does not support the measurement. Skipped
+ * nodes report zero for every measurement.
+ */
+public class TaskMetrics {
+
+    private final String nodeId;
+    private final TaskStatus status;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final int errorCount;
+
+    public TaskMetrics(String nodeId, TaskStatus status, long wallNanos, long cpuNanos,
+                       long allocatedBytes, int errorCount) {
+        this.nodeId = nodeId;
+        this.status = status;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.errorCount = errorCount;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s wall=%dus cpu=%dus alloc=%dB errors=%d",
+                nodeId, status, wallNanos / 1_000, cpuNanos < 0 ? -1 : cpuNanos / 1_000,
+                allocatedBytes, errorCount);
+    }
+}
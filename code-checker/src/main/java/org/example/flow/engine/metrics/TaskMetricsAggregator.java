@@ -0,0 +1,139 @@
+package org.example.flow.engine.metrics;
+
+import org.example.flow.engine.node.TaskNode;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects {@link TaskMetrics} of many runs and reports p50/p95/p99 of wall
+ * time, CPU time and allocated bytes per node id.
+ * <p>
+ * Attach one instance to every engine of a batch run, then call
+ * {@link #print(PrintStream)} at the end. Skipped and failed runs are counted
+ * but do not contribute to the percentiles.
+ */
+public class TaskMetricsAggregator implements TaskListener {
+
+    private final Map<String, NodeStats> statsByNode = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void afterTask(TaskNode node, TaskMetrics metrics) {
+        statsByNode.computeIfAbsent(metrics.getNodeId(), id -> new NodeStats()).add(metrics);
+    }
+
+    /**
+     * Gets the given percentile of wall time for a node id.
+     *
+     * @param nodeId     node id
+     * @param percentile percentile in the range (0, 100]
+     * @return wall time in nanoseconds, or -1 if the node never ran
+     */
+    public synchronized long wallNanos(String nodeId, double percentile) {
+        NodeStats stats = statsByNode.get(nodeId);
+        return stats == null ? -1 : percentile(stats.wall, stats.measured, percentile);
+    }
+
+    /**
+     * Gets the given percentile of thread CPU time for a node id.
+     *
+     * @return CPU time in nanoseconds, or -1 if unknown
+     */
+    public synchronized long cpuNanos(String nodeId, double percentile) {
+        NodeStats stats = statsByNode.get(nodeId);
+        return stats == null ? -1 : percentile(stats.cpu, stats.measured, percentile);
+    }
+
+    /**
+     * Gets the given percentile of allocated bytes for a node id.
+     *
+     * @return allocated bytes, or -1 if unknown
+     */
+    public synchronized long allocatedBytes(String nodeId, double percentile) {
+        NodeStats stats = statsByNode.get(nodeId);
+        return stats == null ? -1 : percentile(stats.allocated, stats.measured, percentile);
+    }
+
+    /**
+     * Prints one line per node id in the order nodes were first seen.
+     */
+    public synchronized void print(PrintStream out) {
+        out.println("Task metrics (p50 / p95 / p99)");
+        out.printf("%-20s %6s %6s %6s %6s %8s  %-26s %-26s %-26s%n",
+                "node", "runs", "stop", "skip", "fail", "errors",
+                "wall ms", "cpu ms", "alloc KB");
+        for (Map.Entry<String, NodeStats> entry : statsByNode.entrySet()) {
+            NodeStats s = entry.getValue();
+            out.printf("%-20s %6d %6d %6d %6d %8d  %-26s %-26s %-26s%n",
+                    entry.getKey(), s.runs, s.stopped, s.skipped, s.failed, s.errors,
+                    triple(s.wall, s.measured, 1_000_000.0),
+                    triple(s.cpu, s.measured, 1_000_000.0),
+                    triple(s.allocated, s.measured, 1024.0));
+        }
+    }
+
+    private static String triple(long[] values, int count, double unit) {
+        if (count == 0 || percentile(values, count, 50) < 0) {
+            return "-";
+        }
+        return String.format("%.2f / %.2f / %.2f",
+                percentile(values, count, 50) / unit,
+                percentile(values, count, 95) / unit,
+                percentile(values, count, 99) / unit);
+    }
+
+    /**
+     * Nearest-rank percentile of the first {@code count} values.
+     */
+    private static long percentile(long[] values, int count, double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+    private static final class NodeStats {
+        private long[] wall = new long[16];
+        private long[] cpu = new long[16];
+        private long[] allocated = new long[16];
+        private int measured;
+        private int runs;
+        private int stopped;
+        private int skipped;
+        private int failed;
+        private long errors;
+
+        void add(TaskMetrics metrics) {
+            runs++;
+            errors += metrics.getErrorCount();
+            switch (metrics.getStatus()) {
+                case SKIPPED:
+                    skipped++;
+                    return;
+                case FAILED:
+                    failed++;
+                    return;
+                case STOPPED:
+                    stopped++;
+                    break;
+                default:
+                    break;
+            }
+
+            if (measured == wall.length) {
+                wall = Arrays.copyOf(wall, measured * 2);
+                cpu = Arrays.copyOf(cpu, measured * 2);
+                allocated = Arrays.copyOf(allocated, measured * 2);
+            }
+            wall[measured] = metrics.getWallNanos();
+            cpu[measured] = metrics.getCpuNanos();
+            allocated[measured] = metrics.getAllocatedBytes();
+            measured++;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.flow.engine.metrics;
+
+/**
+ * Outcome of one task node within a single {@code FlowEngine.execute} call.
+ */
+public enum TaskStatus {
+    /**
+     * The node ran and did not request a stop.
+     */
+    COMPLETED,
+    /**
+     * The node ran and set needStop, so its dependents were skipped.
+     */
+    STOPPED,
+    /**
+     * The node was not run because a dependency stopped, the run failed or
+     * the execution policy halted the run.
+     */
+    SKIPPED,
+    /**
+     * The node threw an exception.
+     */
+    FAILED
+}
@@ -0,0 +1,75 @@
+package org.example.flow.engine.node;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of one execution of a {@link TaskNode}: its input, its output, the
+ * problems it reported and whether its dependents must be skipped.
+ * <p>
+ * A new context is created for every execution and only used by the thread
+ * running the node, so the node itself can stay stateless and one instance
+ * can run for many documents at the same time.
+ */
+public class TaskContext {
+
+    private final Map<String, TaskData<?>> input;
+
+    private List<TaskData<?>> output;
+
+    private boolean needStop;
+
+    /**
+     * Problems reported by the node, e.g. check errors.
+     */
+    private List<?> errors = Collections.emptyList();
+
+    public TaskContext(Map<String, TaskData<?>> input) {
+        this.input = input != null ? input : Collections.emptyMap();
+    }
+
+    public Map<String, TaskData<?>> getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the input with the given name.
+     *
+     * @return the input, or null if there is none
+     */
+    public TaskData<?> get(String name) {
+        return input.get(name);
+    }
+
+    public List<TaskData<?>> getOutput() {
+        return output;
+    }
+
+    public void setOutput(List<TaskData<?>> output) {
+        this.output = output;
+    }
+
+    public boolean isNeedStop() {
+        return needStop;
+    }
+
+    public void setNeedStop(boolean needStop) {
+        this.needStop = needStop;
+    }
+
+    public List<?> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<?> errors) {
+        this.errors = errors != null ? errors : Collections.emptyList();
+    }
+
+    /**
+     * Gets the number of problems reported by the node.
+     */
+    public int getErrorCount() {
+        return errors.size();
+    }
+}
@@ -4,18 +4,19 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * A step of a flow, identified by its id and run after the nodes it depends on.
+ * <p>
+ * A node only holds its configuration. Everything that belongs to one
+ * execution lives in the {@link TaskContext} passed to {@link #task}, so an
+ * instance can be executed for several documents at once.
+ */
 public abstract class TaskNode {
 
-    private boolean needStop = false;
-
     private String id;
 
     private List<String> dependencies = Collections.emptyList();
 
-    public Map<String, TaskData<?>> input;
-
-    public List<TaskData<?>> output;
-
     public String getId() {
         return id;
     }
@@ -24,14 +25,6 @@ public abstract class TaskNode {
         this.id = id;
     }
 
-    public boolean isNeedStop() {
-        return needStop;
-    }
-
-    public void setNeedStop(boolean needStop) {
-        this.needStop = needStop;
-    }
-
     public List<String> getDependencies() {
         return dependencies;
     }
@@ -44,15 +37,41 @@ public abstract class TaskNode {
         }
     }
 
-    public final void execute() {
-        this.output = task(this.input);
+    /**
+     * Gets the version of this node's logic. Bump it whenever a change makes
+     * the node produce different output for the same input, so that results
+     * persisted by earlier versions are no longer reused.
+     */
+    public String getVersion() {
+        return "1";
+    }
+
+    /**
+     * Gets a string identifying the logic and configuration of this node.
+     * Two nodes with equal fingerprints produce equal output for equal input.
+     */
+    public String getFingerprint() {
+        return getClass().getName() + "@" + getVersion();
     }
 
     /**
-     * Legacy method signature for backward compatibility.
+     * Runs the task once for the given input.
      *
      * @param input the input data map
+     * @return the context of this execution, holding its output and errors
+     */
+    public final TaskContext execute(Map<String, TaskData<?>> input) {
+        TaskContext context = new TaskContext(input);
+        context.setOutput(task(context));
+        return context;
+    }
+
+    /**
+     * Runs the task. Problems and the stop request are reported on the
+     * context; the returned list is the output.
+     *
+     * @param context state of this execution
      * @return list of output TaskData
      */
-    public abstract List<TaskData<?>> task(Map<String, TaskData<?>> input);
+    public abstract List<TaskData<?>> task(TaskContext context);
 }
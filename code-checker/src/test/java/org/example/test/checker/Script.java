@@ -11,16 +11,25 @@ import org.example.code.checker.checker.markdown.task.structure.StructureChecker
 import org.example.code.checker.checker.markdown.task.structure.title.TitleChecker;
 import org.example.code.checker.checker.utils.FileUtils;
 import org.example.code.checker.checker.utils.TreeNode;
+import org.example.flow.engine.analyzer.Blackboard;
+import org.example.flow.engine.analyzer.ExecutionPlan;
 import org.example.flow.engine.analyzer.FlowEngine;
+import org.example.flow.engine.node.TaskContext;
 import org.example.flow.engine.node.TaskData;
 import org.example.flow.engine.node.TaskNode;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Runs all provider document checks on one file through {@link FlowEngine}.
+ * <p>
+ * The checker nodes are wired by dependency only: their inputs
+ * (originalDocument, fileId, ...) are resolved by name from the parser
+ * outputs when the engine runs them.
+ */
 public class Script {
 
     /**
@@ -28,8 +37,8 @@ public class Script {
      */
     static class DocumentParser extends TaskNode {
         @Override
-        public List<TaskData<?>> task(Map<String, TaskData<?>> input) {
-            TaskData<?> filePathData = input.get("filePath");
+        public List<TaskData<?>> task(TaskContext context) {
+            TaskData<?> filePathData = context.get("filePath");
             if (filePathData == null) {
                 throw new IllegalArgumentException("Missing required input: filePath");
             }
@@ -64,14 +73,10 @@ public class Script {
         return filePath;
     }
 
-    public static TaskNode createDocumentParser(String filePath) {
+    public static TaskNode createDocumentParser() {
         DocumentParser parseMarkdown = new DocumentParser();
         parseMarkdown.setId("parseMarkdown");
         parseMarkdown.setDependencies(Collections.emptyList());
-
-        TaskData<String> filePathData = new TaskData<>("filePath", filePath);
-        parseMarkdown.input = Map.of("filePath", filePathData);
-
         return parseMarkdown;
     }
 
@@ -80,34 +85,10 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkFrontMatter
      */
-    public static TaskNode createFrontMatterChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createFrontMatterChecker() {
         FrontMatterChecker frontMatterChecker = new FrontMatterChecker();
         frontMatterChecker.setId("checkFrontMatter");
         frontMatterChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        // DocumentParser outputs:
-        // 0: rawCode
-        // 1: originalDocument
-        // 2: workingDocument
-        // 3: fileId
-        TaskData<?> rawCodeData = outputs.get(0);
-        TaskData<?> originalDocumentData = outputs.get(1);
-        TaskData<?> workingDocumentData = outputs.get(2);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        frontMatterChecker.input = Map.of(
-            "rawCode", rawCodeData,
-            "originalDocument", originalDocumentData,
-            "workingDocument", workingDocumentData,
-            "fileId", fileIdData
-        );
-
         return frontMatterChecker;
     }
 
@@ -116,25 +97,10 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkTitle
      */
-    public static TaskNode createTitleChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createTitleChecker() {
         TitleChecker titleChecker = new TitleChecker();
         titleChecker.setId("checkTitle");
         titleChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        TaskData<?> originalDocumentData = outputs.get(1);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        titleChecker.input = Map.of(
-            "originalDocument", originalDocumentData,
-            "fileId", fileIdData
-        );
-
         return titleChecker;
     }
 
@@ -143,25 +109,10 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkStructure
      */
-    public static TaskNode createStructureChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createStructureChecker() {
         StructureChecker structureChecker = new StructureChecker();
         structureChecker.setId("checkStructure");
         structureChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        TaskData<?> originalDocumentData = outputs.get(1);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        structureChecker.input = Map.of(
-            "originalDocument", originalDocumentData,
-            "fileId", fileIdData
-        );
-
         return structureChecker;
     }
 
@@ -170,25 +121,10 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkExample
      */
-    public static TaskNode createExampleChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createExampleChecker() {
         ExampleChecker exampleChecker = new ExampleChecker();
         exampleChecker.setId("checkExample");
         exampleChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        TaskData<?> originalDocumentData = outputs.get(1);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        exampleChecker.input = Map.of(
-            "originalDocument", originalDocumentData,
-            "fileId", fileIdData
-        );
-
         return exampleChecker;
     }
 
@@ -197,25 +133,10 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkArgumentList
      */
-    public static TaskNode createArgumentListChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createArgumentListChecker() {
         ArgumentListChecker argumentListChecker = new ArgumentListChecker();
         argumentListChecker.setId("checkArgumentList");
         argumentListChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        TaskData<?> originalDocumentData = outputs.get(1);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        argumentListChecker.input = Map.of(
-            "originalDocument", originalDocumentData,
-            "fileId", fileIdData
-        );
-
         return argumentListChecker;
     }
 
@@ -224,79 +145,23 @@ public class Script {
      *
      * Graph: parseMarkdown -> checkAttributeList
      */
-    public static TaskNode createAttributeListChecker(TaskNode markdownParser, String filePath) {
+    public static TaskNode createAttributeListChecker() {
         AttributeListChecker attributeListChecker = new AttributeListChecker();
         attributeListChecker.setId("checkAttributeList");
         attributeListChecker.setDependencies(List.of("parseMarkdown"));
-
-        List<TaskData<?>> outputs = markdownParser.output;
-        if (outputs == null || outputs.isEmpty()) {
-            throw new IllegalStateException("DocumentParser produced no outputs");
-        }
-
-        TaskData<?> originalDocumentData = outputs.get(1);
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-
-        attributeListChecker.input = Map.of(
-            "originalDocument", originalDocumentData,
-            "fileId", fileIdData
-        );
-
         return attributeListChecker;
     }
 
     /**
      * Create ContentNumberRule node that depends on TitleChecker, ArgumentListChecker, and AttributeListChecker.
+     * It reads titleResult, argumentListResult and attributeListResult from their outputs.
      *
      * Graph: checkTitle, checkArgumentList, checkAttributeList -> checkContentNumber
      */
-    public static TaskNode createContentNumberRule(
-            TaskNode titleChecker,
-            TaskNode argumentListChecker,
-            TaskNode attributeListChecker,
-            String filePath) {
+    public static TaskNode createContentNumberRule() {
         ContentNumberRule contentNumberRule = new ContentNumberRule();
         contentNumberRule.setId("checkContentNumber");
         contentNumberRule.setDependencies(List.of("checkTitle", "checkArgumentList", "checkAttributeList"));
-
-        Map<String, TaskData<?>> inputMap = new HashMap<>();
-
-        // Get titleResult from TitleChecker
-        if (titleChecker.output != null && !titleChecker.output.isEmpty()) {
-            for (TaskData<?> output : titleChecker.output) {
-                if ("titleResult".equals(output.getName())) {
-                    inputMap.put("titleResult", output);
-                    break;
-                }
-            }
-        }
-
-        // Get argumentListResult from ArgumentListChecker
-        if (argumentListChecker.output != null && !argumentListChecker.output.isEmpty()) {
-            for (TaskData<?> output : argumentListChecker.output) {
-                if ("argumentListResult".equals(output.getName())) {
-                    inputMap.put("argumentListResult", output);
-                    break;
-                }
-            }
-        }
-
-        // Get attributeListResult from AttributeListChecker
-        if (attributeListChecker.output != null && !attributeListChecker.output.isEmpty()) {
-            for (TaskData<?> output : attributeListChecker.output) {
-                if ("attributeListResult".equals(output.getName())) {
-                    inputMap.put("attributeListResult", output);
-                    break;
-                }
-            }
-        }
-
-        TaskData<String> fileIdData = new TaskData<>("fileId", filePath);
-        inputMap.put("fileId", fileIdData);
-
-        contentNumberRule.input = inputMap;
-
         return contentNumberRule;
     }
 
@@ -304,15 +169,14 @@ public class Script {
         String filePath = getFilePathFromParam(args);
 
         // Create all task nodes
-        TaskNode markdownParser = createDocumentParser(filePath);
-        TaskNode frontMatterChecker = createFrontMatterChecker(markdownParser, filePath);
-        TaskNode titleChecker = createTitleChecker(markdownParser, filePath);
-        TaskNode structureChecker = createStructureChecker(markdownParser, filePath);
-        TaskNode exampleChecker = createExampleChecker(markdownParser, filePath);
-        TaskNode argumentListChecker = createArgumentListChecker(markdownParser, filePath);
-        TaskNode attributeListChecker = createAttributeListChecker(markdownParser, filePath);
-        TaskNode contentNumberRule = createContentNumberRule(
-            titleChecker, argumentListChecker, attributeListChecker, filePath);
+        TaskNode markdownParser = createDocumentParser();
+        TaskNode frontMatterChecker = createFrontMatterChecker();
+        TaskNode titleChecker = createTitleChecker();
+        TaskNode structureChecker = createStructureChecker();
+        TaskNode exampleChecker = createExampleChecker();
+        TaskNode argumentListChecker = createArgumentListChecker();
+        TaskNode attributeListChecker = createAttributeListChecker();
+        TaskNode contentNumberRule = createContentNumberRule();
 
         // Collect all nodes
         List<TaskNode> allNodes = List.of(
@@ -326,9 +190,13 @@ public class Script {
             contentNumberRule
         );
 
-        // Execute all nodes using FlowEngine (which handles needStop propagation)
+        // Execute all nodes using FlowEngine (which handles needStop propagation
+        // and routes each output to the nodes that read it by name)
         FlowEngine engine = new FlowEngine();
-        engine.execute(allNodes);
+        Blackboard blackboard = engine.execute(ExecutionPlan.compile(allNodes), Map.of(
+            "filePath", new TaskData<>("filePath", filePath),
+            "fileId", new TaskData<>("fileId", filePath)
+        ));
 
         // Print dependency graph as Mermaid
         String mermaid = engine.exportMermaid(allNodes);
@@ -338,12 +206,13 @@ public class Script {
         // Print errors from all checkers
         System.out.println("\n=== Check Results ===");
         for (TaskNode node : allNodes) {
-            if (node instanceof org.example.code.checker.checker.Checker) {
-                org.example.code.checker.checker.Checker checker = 
-                    (org.example.code.checker.checker.Checker) node;
-                if (checker.getErrorList() != null && !checker.getErrorList().isEmpty()) {
+            TaskContext context = blackboard.getContext(node.getId());
+            if (node instanceof org.example.code.checker.checker.Checker && context != null) {
+                List<org.example.code.checker.checker.common.CheckError> errors =
+                    org.example.code.checker.checker.Checker.getErrorList(context);
+                if (!errors.isEmpty()) {
                     System.out.println("\nErrors from " + node.getId() + ":");
-                    for (org.example.code.checker.checker.common.CheckError error : checker.getErrorList()) {
+                    for (org.example.code.checker.checker.common.CheckError error : errors) {
                         System.out.println("  - " + error.getMessage());
                     }
                 }
@@ -0,0 +1,107 @@
+package org.example.test.checker.markdown.parser;
+
+import org.example.code.checker.checker.markdown.parser.IncrementalParser;
+import org.example.code.checker.checker.markdown.parser.MdAstGenerator;
+import org.example.code.checker.checker.markdown.parser.ReparseResult;
+import org.example.code.checker.checker.markdown.parser.TextEdit;
+import org.example.code.checker.checker.markdown.parser.ast.MdAstNode;
+import org.example.code.checker.checker.markdown.parser.ast.SourceRange;
+import org.example.code.checker.checker.utils.FileUtils;
+import org.example.code.checker.checker.utils.TreeNode;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Differential check of {@link IncrementalParser}: applies random edits to a
+ * document and compares every incremental result with a full parse by
+ * {@link MdAstGenerator#generate}.
+ * <p>
+ * Arguments: [file] [seed] [edits]. Exits with 1 on the first mismatch, or
+ * if no edit was re-parsed incrementally.
+ */
+public class IncrementalParserMain {
+
+    public static final String FILE_PATH = "src/test/java/org/example/test/checker/markdown/resource/incremental.md";
+
+    private static final String[] SNIPPETS = {
+            "\n", "\n\n", "- ", "* ", "x", "text", "  ", "    ", "# H\n", "## Argument Reference\n",
+            "* `a` - (Required, String) foo.\n", "```\n", "1. ", "|a|b|\n", "> ", "1000000",
+            "<div>\n", "<a name=\"x\"></a>\n", "<!-- c\n", "<pre>\n", "-->", "    code\n", "\n- item\n",
+            "**b**", "-", "wrapped\nline", "  \n"
+    };
+
+    public static void main(String[] args) throws IOException {
+        String path = args.length > 0 ? args[0] : FILE_PATH;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int edits = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+
+        String original = FileUtils.getFileContent(path);
+        String text = original;
+        TreeNode<MdAstNode> document = MdAstGenerator.generate(text, path);
+        Random random = new Random(seed);
+        int incremental = 0;
+        for (int i = 0; i < edits; i++) {
+            // Start over from time to time so the document does not drift too far
+            if (i % 50 == 0) {
+                text = original;
+                document = MdAstGenerator.generate(text, path);
+            }
+            int offset = random.nextInt(text.length() + 1);
+            int removed = random.nextInt(3) == 0 ? Math.min(random.nextInt(8), text.length() - offset) : 0;
+            String inserted = random.nextInt(4) == 0 ? "" : SNIPPETS[random.nextInt(SNIPPETS.length)];
+            TextEdit edit = new TextEdit(offset, removed, inserted);
+
+            ReparseResult result = IncrementalParser.reparse(document, edit, path);
+            text = edit.apply(text);
+            String expected = dump(MdAstGenerator.generate(text, path));
+            String actual = dump(result.getDocument());
+            if (!expected.equals(actual)) {
+                System.out.println("Mismatch after edit " + i + ": " + edit);
+                System.out.println("--- expected\n" + expected + "--- actual\n" + actual);
+                System.exit(1);
+            }
+            if (!result.isFull()) {
+                incremental++;
+            }
+            document = result.getDocument();
+        }
+        System.out.println(edits + " edits, " + incremental + " re-parsed incrementally, no mismatch");
+        if (incremental == 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the node types, source ranges and texts of a tree, without node ids.
+     */
+    private static String dump(TreeNode<MdAstNode> root) {
+        StringBuilder sb = new StringBuilder();
+        dump(root, 0, sb);
+        return sb.toString();
+    }
+
+    private static void dump(TreeNode<MdAstNode> node, int depth, StringBuilder sb) {
+        MdAstNode data = node.getData();
+        sb.append("  ".repeat(depth));
+        if (data != null) {
+            SourceRange range = data.getSourceRange();
+            sb.append(data.getNodeType()).append(' ');
+            // Nodes without source spans (e.g. line breaks) get a placeholder position
+            if (range != null && range.getLength() > 0) {
+                sb.append(range.getLine()).append(':').append(range.getColumn())
+                        .append('@').append(range.getInputIndex()).append('+').append(range.getLength());
+            }
+            sb.append(' ').append(escape(data.getRawStr()))
+                    .append(" | ").append(escape(data.getText()));
+        }
+        sb.append('\n');
+        for (TreeNode<MdAstNode> child : node.getChildren()) {
+            dump(child, depth + 1, sb);
+        }
+    }
+
+    private static String escape(String text) {
+        return String.valueOf(text).replace("\r", "\\r").replace("\n", "\\n");
+    }
+}